@@ -0,0 +1,239 @@
+package ee.lhv.customer.api.reactive.load;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StackComparison {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final String JVM_HEAP = "-Xmx512m";
+
+    public static void main(String[] args) throws Exception {
+        Path blockingJar = Path.of(args[0]);
+        Path reactiveJar = Path.of(args[1]);
+        int[] concurrencyLevels = Arrays.stream(args[2].split(",")).mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[3]));
+
+        List<String> rows = new ArrayList<>();
+        rows.addAll(run("blocking", blockingJar, List.of(
+                "--spring.profiles.active=prod",
+                "--customer-api.cache.enabled=false",
+                "--customer-api.access-log.enabled=false"), concurrencyLevels, duration));
+        rows.addAll(run("reactive", reactiveJar, List.of(), concurrencyLevels, duration));
+
+        System.out.printf("%n%-9s %-5s %6s %10s %9s %9s %8s %8s %12s%n",
+                "stack", "load", "conc", "req/s", "p50 ms", "p99 ms", "threads", "rss MB", "KB/conn");
+        rows.forEach(System.out::println);
+    }
+
+    private static List<String> run(String stack, Path jar, List<String> arguments, int[] concurrencyLevels,
+                                    Duration duration) throws Exception {
+        int port = freePort();
+        Path log = Files.createTempFile("customer-api-" + stack, ".log");
+        List<String> command = new ArrayList<>(List.of(
+                ProcessHandle.current().info().command().orElse("java"), JVM_HEAP, "-jar", jar.toString(),
+                "--server.port=" + port));
+        command.addAll(arguments);
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            String baseUrl = "http://localhost:" + port;
+            awaitHealthy(baseUrl, process, log);
+            long[] ids = seed(baseUrl);
+
+            List<String> rows = new ArrayList<>();
+            for (String load : List.of("get", "list")) {
+                for (int concurrency : concurrencyLevels) {
+                    load(baseUrl, load, ids, Math.min(concurrency, 16), Duration.ofSeconds(2), process.pid());
+                    long idleRss = ProcessStats.read(process.pid()).rssKb;
+                    LoadResult result = load(baseUrl, load, ids, concurrency, duration, process.pid());
+                    rows.add(String.format("%-9s %-5s %6d %10.0f %9.2f %9.2f %8d %8d %12.1f",
+                            stack, load, concurrency, result.requestsPerSecond, result.p50Millis,
+                            result.p99Millis, result.peak.threads, result.peak.rssKb / 1024,
+                            Math.max(0, result.peak.rssKb - idleRss) / (double) concurrency));
+                }
+            }
+            return rows;
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static LoadResult load(String baseUrl, String load, long[] ids, int concurrency, Duration duration,
+                                   long pid) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong peakRss = new AtomicLong();
+        AtomicLong peakThreads = new AtomicLong();
+        Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                ProcessStats stats = ProcessStats.read(pid);
+                peakRss.accumulateAndGet(stats.rssKb, Math::max);
+                peakThreads.accumulateAndGet(stats.threads, Math::max);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        List<long[]> latencies = new ArrayList<>();
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> {
+                    LongList samples = new LongList();
+                    while (System.nanoTime() < deadline) {
+                        long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                        URI uri = URI.create("get".equals(load)
+                                ? baseUrl + "/customers/" + id
+                                : baseUrl + "/customers?limit=100&after=" + Math.max(0, id - 200));
+                        HttpRequest request = HttpRequest.newBuilder(uri).header("Accept", "application/json").build();
+                        long start = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            samples.add(System.nanoTime() - start);
+                        }
+                    }
+                    return samples.toArray();
+                }));
+            }
+            for (Future<long[]> future : futures) {
+                latencies.add(future.get());
+            }
+        } finally {
+            sampler.interrupt();
+        }
+
+        long[] all = latencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return new LoadResult(all.length / (duration.toNanos() / 1e9), percentile(all, 0.50), percentile(all, 0.99),
+                new ProcessStats(peakRss.get(), peakThreads.get()));
+    }
+
+    private static long[] seed(String baseUrl) throws IOException, InterruptedException {
+        long[] ids = new long[CUSTOMERS];
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            for (int i = 0; i < CUSTOMERS; i++) {
+                String body = "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"load" + i + "@example.com\"}";
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/customers"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                ids[i] = Long.parseLong(response.body().replaceAll(".*\"id\":(\\d+).*", "$1"));
+            }
+        }
+        return ids;
+    }
+
+    private static void awaitHealthy(String baseUrl, Process process, Path log) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(90);
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited, see " + log);
+                }
+                try {
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return;
+                    }
+                } catch (IOException e) {
+                    Thread.sleep(250);
+                }
+            }
+        }
+        throw new IllegalStateException("Application did not become healthy, see " + log);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)] / 1e6;
+    }
+
+    private static final class LoadResult {
+
+        private final double requestsPerSecond;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final ProcessStats peak;
+
+        private LoadResult(double requestsPerSecond, double p50Millis, double p99Millis, ProcessStats peak) {
+            this.requestsPerSecond = requestsPerSecond;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.peak = peak;
+        }
+    }
+
+    private static final class ProcessStats {
+
+        private final long rssKb;
+        private final long threads;
+
+        private ProcessStats(long rssKb, long threads) {
+            this.rssKb = rssKb;
+            this.threads = threads;
+        }
+
+        static ProcessStats read(long pid) {
+            long rss = 0;
+            long threads = 0;
+            try {
+                for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                    if (line.startsWith("VmRSS:")) {
+                        rss = Long.parseLong(line.replaceAll("\\D", ""));
+                    } else if (line.startsWith("Threads:")) {
+                        threads = Long.parseLong(line.replaceAll("\\D", ""));
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                return new ProcessStats(0, 0);
+            }
+            return new ProcessStats(rss, threads);
+        }
+    }
+
+    private static final class LongList {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
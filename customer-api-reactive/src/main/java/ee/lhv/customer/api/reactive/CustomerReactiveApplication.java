@@ -0,0 +1,20 @@
+package ee.lhv.customer.api.reactive;
+
+import ee.lhv.customer.api.config.PagingProperties;
+import ee.lhv.customer.api.exception.ErrorResponseFactory;
+import ee.lhv.customer.api.metrics.ErrorMetrics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+
+@SpringBootApplication(exclude = DataSourceAutoConfiguration.class)
+@EnableConfigurationProperties(PagingProperties.class)
+@Import({ErrorMetrics.class, ErrorResponseFactory.class})
+public class CustomerReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(CustomerReactiveApplication.class, args);
+    }
+}
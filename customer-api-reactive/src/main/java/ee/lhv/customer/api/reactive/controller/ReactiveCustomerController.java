@@ -0,0 +1,90 @@
+package ee.lhv.customer.api.reactive.controller;
+
+import ee.lhv.customer.api.config.PagingProperties;
+import ee.lhv.customer.api.controller.CustomerETags;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.reactive.service.ReactiveCustomerService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/customers")
+@RequiredArgsConstructor
+public class ReactiveCustomerController {
+
+    private final ReactiveCustomerService customerService;
+    private final PagingProperties pagingProperties;
+
+    @PostMapping
+    public Mono<ResponseEntity<CustomerResponse>> createCustomer(@Valid @RequestBody CustomerRequest request) {
+        return customerService.createCustomer(request)
+                .map(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<CustomerResponse>> getCustomerById(@PathVariable Long id) {
+        return customerService.getCustomerById(id)
+                .map(customer -> ResponseEntity.ok()
+                        .eTag(CustomerETags.of(customer))
+                        .lastModified(CustomerETags.lastModified(customer))
+                        .body(customer));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<CustomerResponse>>> getCustomers(@RequestParam(required = false) Long after,
+                                                                     @RequestParam(required = false) Integer limit,
+                                                                     ServerHttpRequest request) {
+        int pageSize = pagingProperties.resolveLimit(limit);
+        return customerService.getCustomers(after, pageSize)
+                .collectList()
+                .map(customers -> {
+                    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                            .eTag(CustomerETags.of(customers))
+                            .lastModified(CustomerETags.lastModified(customers));
+                    if (customers.size() == pageSize) {
+                        Long nextCursor = customers.get(customers.size() - 1).getId();
+                        String nextLink = UriComponentsBuilder.fromUri(request.getURI())
+                                .replaceQueryParam("after", nextCursor)
+                                .replaceQueryParam("limit", pageSize)
+                                .toUriString();
+                        builder.header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+                    }
+                    return builder.body(customers);
+                });
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<CustomerResponse> streamCustomers() {
+        return customerService.streamAllCustomers();
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<CustomerResponse>> updateCustomer(@PathVariable Long id,
+                                                                 @Valid @RequestBody CustomerRequest request,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return customerService.updateCustomer(id, request, CustomerETags.expectedVersion(ifMatch))
+                .map(response -> ResponseEntity.ok()
+                        .eTag(CustomerETags.of(response))
+                        .lastModified(CustomerETags.lastModified(response))
+                        .body(response));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteCustomer(@PathVariable Long id,
+                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return customerService.deleteCustomer(id, CustomerETags.expectedVersion(ifMatch))
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+}
@@ -0,0 +1,90 @@
+package ee.lhv.customer.api.reactive.exception;
+
+import ee.lhv.customer.api.exception.CustomerNotFoundException;
+import ee.lhv.customer.api.exception.EmailAlreadyExistsException;
+import ee.lhv.customer.api.exception.ErrorResponse;
+import ee.lhv.customer.api.exception.ErrorResponseFactory;
+import ee.lhv.customer.api.exception.PreconditionFailedException;
+import ee.lhv.customer.api.exception.ValidationErrorResponse;
+import ee.lhv.customer.api.logging.LogSampler;
+import ee.lhv.customer.api.metrics.ErrorMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@ControllerAdvice
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    private static final Duration LOG_SAMPLE_INTERVAL = Duration.ofSeconds(1);
+
+    private final LogSampler validationLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler preconditionLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler unexpectedLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+
+    private final ErrorResponseFactory errorResponseFactory;
+    private final ErrorMetrics errorMetrics;
+
+    @ExceptionHandler(CustomerNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleCustomerNotFound(CustomerNotFoundException ex) {
+        return errorResponseFactory.customerNotFound(ex.getMessage());
+    }
+
+    @ExceptionHandler(EmailAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleEmailAlreadyExists(EmailAlreadyExistsException ex) {
+        return errorResponseFactory.emailAlreadyExists(ex.getMessage());
+    }
+
+    @ExceptionHandler({PreconditionFailedException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(RuntimeException ex) {
+        preconditionLogSampler.log(log, Level.WARN, "Precondition failed: {}", ex.getMessage());
+        errorMetrics.increment(HttpStatus.PRECONDITION_FAILED, "PRECONDITION_FAILED");
+        ErrorResponse error = new ErrorResponse("PRECONDITION_FAILED", ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ValidationErrorResponse> handleValidationErrors(WebExchangeBindException ex) {
+        validationLogSampler.log(log, Level.WARN, "Validation failed: {}", ex.getMessage());
+        errorMetrics.increment(HttpStatus.BAD_REQUEST, "VALIDATION_FAILED");
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        ValidationErrorResponse response = new ValidationErrorResponse("Validation failed", errors, LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+    }
+
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatus(ResponseStatusException ex) {
+        HttpStatus status = HttpStatus.valueOf(ex.getStatusCode().value());
+        errorMetrics.increment(status, status.name());
+        ErrorResponse error = new ErrorResponse(status.name(), ex.getReason(), LocalDateTime.now());
+        return ResponseEntity.status(status).body(error);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Map<String, String>> handleExceptions(Exception ex) {
+        unexpectedLogSampler.log(log, Level.ERROR, "Unexpected error", ex);
+        errorMetrics.increment(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR");
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(Map.of("message", String.valueOf(ex.getMessage())));
+    }
+}
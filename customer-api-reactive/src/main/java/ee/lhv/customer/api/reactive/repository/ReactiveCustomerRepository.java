@@ -0,0 +1,155 @@
+package ee.lhv.customer.api.reactive.repository;
+
+import ee.lhv.customer.api.entity.Customer;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveCustomerRepository {
+
+    private static final String SELECT_CUSTOMERS =
+            "SELECT id, first_name, last_name, email, created_dtime, modified_dtime, version FROM customers "
+            + "WHERE deleted_dtime IS NULL";
+
+    private static final String SELECT_BY_ID = SELECT_CUSTOMERS + " AND id = :id";
+
+    private static final String SELECT_AFTER = SELECT_CUSTOMERS + " AND id > :after ORDER BY id LIMIT :limit";
+
+    private static final String SELECT_ALL_ORDERED_BY_ID = SELECT_CUSTOMERS + " ORDER BY id";
+
+    private static final String NEXT_ID_BLOCK = "SELECT NEXT VALUE FOR customers_seq";
+
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customers (id, first_name, last_name, email, created_dtime, modified_dtime, version) "
+            + "VALUES (:id, :firstName, :lastName, :email, :now, :now, 0)";
+
+    private static final String UPDATE_CUSTOMER =
+            "UPDATE customers SET first_name = :firstName, last_name = :lastName, email = :email, "
+            + "modified_dtime = :now, version = version + 1 "
+            + "WHERE id = :id AND version = :version AND deleted_dtime IS NULL";
+
+    private static final String DELETE_CUSTOMER = "UPDATE customers SET deleted_dtime = :now, version = version + 1 "
+            + "WHERE id = :id AND deleted_dtime IS NULL";
+
+    private static final String DELETE_CUSTOMER_VERSION = DELETE_CUSTOMER + " AND version = :version";
+
+    private final DatabaseClient databaseClient;
+    private final AtomicReference<IdBlock> idBlock = new AtomicReference<>(new IdBlock(0, 0));
+
+    public Mono<Customer> findById(long id) {
+        return databaseClient.sql(SELECT_BY_ID)
+                .bind("id", id)
+                .map(ReactiveCustomerRepository::toCustomer)
+                .one();
+    }
+
+    public Flux<Customer> findAfter(long after, int limit) {
+        return databaseClient.sql(SELECT_AFTER)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveCustomerRepository::toCustomer)
+                .all();
+    }
+
+    public Flux<Customer> findAll() {
+        return databaseClient.sql(SELECT_ALL_ORDERED_BY_ID)
+                .map(ReactiveCustomerRepository::toCustomer)
+                .all();
+    }
+
+    public Mono<Customer> insert(Customer customer) {
+        LocalDateTime now = LocalDateTime.now();
+        return nextId().flatMap(id -> databaseClient.sql(INSERT_CUSTOMER)
+                .bind("id", id)
+                .bind("firstName", customer.getFirstName())
+                .bind("lastName", customer.getLastName())
+                .bind("email", customer.getEmail())
+                .bind("now", now)
+                .then()
+                .then(Mono.fromSupplier(() -> {
+                    customer.setId(id);
+                    customer.setCreatedDtime(now);
+                    customer.setModifiedDtime(now);
+                    customer.setVersion(0L);
+                    return customer;
+                })));
+    }
+
+    public Mono<Long> update(Customer customer) {
+        return databaseClient.sql(UPDATE_CUSTOMER)
+                .bind("firstName", customer.getFirstName())
+                .bind("lastName", customer.getLastName())
+                .bind("email", customer.getEmail())
+                .bind("now", LocalDateTime.now())
+                .bind("id", customer.getId())
+                .bind("version", customer.getVersion())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(long id) {
+        return databaseClient.sql(DELETE_CUSTOMER)
+                .bind("now", LocalDateTime.now())
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> delete(Customer customer) {
+        return databaseClient.sql(DELETE_CUSTOMER_VERSION)
+                .bind("now", LocalDateTime.now())
+                .bind("id", customer.getId())
+                .bind("version", customer.getVersion())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private Mono<Long> nextId() {
+        IdBlock block = idBlock.get();
+        long id = block.next.getAndIncrement();
+        if (id < block.limit) {
+            return Mono.just(id);
+        }
+        return databaseClient.sql(NEXT_ID_BLOCK)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(start -> {
+                    idBlock.set(new IdBlock(start + 1, start + ID_BLOCK_SIZE));
+                    return start;
+                });
+    }
+
+    private static Customer toCustomer(Readable row) {
+        Customer customer = new Customer(
+                row.get("first_name", String.class),
+                row.get("last_name", String.class),
+                row.get("email", String.class));
+        customer.setId(row.get("id", Long.class));
+        customer.setCreatedDtime(row.get("created_dtime", LocalDateTime.class));
+        customer.setModifiedDtime(row.get("modified_dtime", LocalDateTime.class));
+        customer.setVersion(row.get("version", Long.class));
+        return customer;
+    }
+
+    private static final class IdBlock {
+
+        private final AtomicLong next;
+        private final long limit;
+
+        private IdBlock(long next, long limit) {
+            this.next = new AtomicLong(next);
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package ee.lhv.customer.api.reactive.service;
+
+import ee.lhv.customer.api.config.PagingProperties;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.exception.CustomerNotFoundException;
+import ee.lhv.customer.api.exception.EmailAlreadyExistsException;
+import ee.lhv.customer.api.exception.PreconditionFailedException;
+import ee.lhv.customer.api.reactive.repository.ReactiveCustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveCustomerService {
+
+    private final ReactiveCustomerRepository customerRepository;
+    private final PagingProperties pagingProperties;
+
+    public Mono<CustomerResponse> createCustomer(CustomerRequest request) {
+        log.debug("Creating customer with email: {}", request.getEmail());
+
+        return customerRepository.insert(new Customer(request.getFirstName(), request.getLastName(), request.getEmail()))
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new EmailAlreadyExistsException(request.getEmail()))
+                .doOnNext(customer -> log.info("Customer created with id: {}", customer.getId()))
+                .map(CustomerResponse::new);
+    }
+
+    public Mono<CustomerResponse> getCustomerById(Long id) {
+        log.debug("Fetching customer with id: {}", id);
+
+        return findCustomer(id).map(CustomerResponse::new);
+    }
+
+    public Flux<CustomerResponse> getCustomers(Long after, int limit) {
+        log.debug("Fetching customers after id: {} with limit: {}", after, limit);
+
+        return customerRepository.findAfter(after == null ? 0L : after, limit).map(CustomerResponse::new);
+    }
+
+    public Flux<CustomerResponse> streamAllCustomers() {
+        log.debug("Streaming all customers");
+
+        return customerRepository.findAll()
+                .limitRate(pagingProperties.getStreamFetchSize())
+                .map(CustomerResponse::new);
+    }
+
+    public Mono<CustomerResponse> updateCustomer(Long id, CustomerRequest request, Long expectedVersion) {
+        log.debug("Updating customer with id: {}", id);
+
+        return findCustomer(id).flatMap(customer -> {
+            checkVersion(customer, expectedVersion);
+            if (unchanged(customer, request)) {
+                log.debug("Customer with id: {} unchanged, skipping update", id);
+                return Mono.just(new CustomerResponse(customer));
+            }
+            customer.setFirstName(request.getFirstName());
+            customer.setLastName(request.getLastName());
+            customer.setEmail(request.getEmail());
+            return customerRepository.update(customer)
+                    .onErrorMap(DataIntegrityViolationException.class,
+                            e -> new EmailAlreadyExistsException(request.getEmail()))
+                    .flatMap(updated -> updated == 0
+                            ? Mono.error(new OptimisticLockingFailureException(
+                                    "Customer " + id + " was modified concurrently"))
+                            : customerRepository.findById(id))
+                    .doOnNext(updated -> log.info("Customer updated with id: {}", id))
+                    .map(CustomerResponse::new);
+        });
+    }
+
+    public Mono<Void> deleteCustomer(Long id, Long expectedVersion) {
+        log.debug("Deleting customer with id: {}", id);
+
+        Mono<Long> deleted = expectedVersion == null
+                ? customerRepository.deleteById(id)
+                        .filter(rows -> rows > 0)
+                        .switchIfEmpty(Mono.error(() -> new CustomerNotFoundException(id)))
+                : findCustomer(id).flatMap(customer -> {
+                    checkVersion(customer, expectedVersion);
+                    return customerRepository.delete(customer);
+                }).filter(rows -> rows > 0)
+                        .switchIfEmpty(Mono.error(() -> new OptimisticLockingFailureException(
+                                "Customer " + id + " was modified concurrently")));
+        return deleted.doOnNext(rows -> log.info("Customer deleted with id: {}", id)).then();
+    }
+
+    private Mono<Customer> findCustomer(Long id) {
+        return customerRepository.findById(id).switchIfEmpty(Mono.error(() -> new CustomerNotFoundException(id)));
+    }
+
+    private static void checkVersion(Customer customer, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(customer.getVersion())) {
+            throw new PreconditionFailedException(customer.getId(), expectedVersion, customer.getVersion());
+        }
+    }
+
+    private static boolean unchanged(Customer customer, CustomerRequest request) {
+        return Objects.equals(customer.getFirstName(), request.getFirstName())
+                && Objects.equals(customer.getLastName(), request.getLastName())
+                && Objects.equals(customer.getEmail(), request.getEmail());
+    }
+}
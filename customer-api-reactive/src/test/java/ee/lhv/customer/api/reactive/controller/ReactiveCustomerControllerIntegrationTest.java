@@ -0,0 +1,159 @@
+package ee.lhv.customer.api.reactive.controller;
+
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactiveCustomerControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM customers").then().block();
+    }
+
+    @Test
+    void createAndGetCustomer_Success() {
+        CustomerResponse created = create("John", "Doe", "john.doe@example.com");
+
+        webTestClient.get().uri("/customers/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("John")
+                .jsonPath("$.email").isEqualTo("john.doe@example.com");
+    }
+
+    @Test
+    void createCustomer_DuplicateEmail_Conflict() {
+        create("John", "Doe", "john.doe@example.com");
+
+        webTestClient.post().uri("/customers")
+                .bodyValue(new CustomerRequest("Jane", "Doe", "john.doe@example.com"))
+                .exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("EMAIL_ALREADY_EXISTS");
+    }
+
+    @Test
+    void createCustomer_InvalidRequest_BadRequest() {
+        webTestClient.post().uri("/customers")
+                .bodyValue(new CustomerRequest("", "Doe", "not-an-email"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Validation failed")
+                .jsonPath("$.errors.firstName").exists()
+                .jsonPath("$.errors.email").exists();
+    }
+
+    @Test
+    void getCustomer_NotFound() {
+        webTestClient.get().uri("/customers/{id}", 999_999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("CUSTOMER_NOT_FOUND");
+    }
+
+    @Test
+    void getCustomers_PagesWithNextLink() {
+        CustomerResponse first = create("First", "Customer", "first@example.com");
+        create("Second", "Customer", "second@example.com");
+        create("Third", "Customer", "third@example.com");
+
+        webTestClient.get().uri("/customers?limit=2")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.LINK, link -> assertTrue(link.contains("limit=2")))
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(first.getId());
+    }
+
+    @Test
+    void streamCustomers_Ndjson() {
+        create("First", "Customer", "first@example.com");
+        create("Second", "Customer", "second@example.com");
+
+        List<CustomerResponse> streamed = webTestClient.get().uri("/customers")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(CustomerResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(List.of("first@example.com", "second@example.com"),
+                streamed.stream().map(CustomerResponse::getEmail).toList());
+    }
+
+    @Test
+    void updateCustomer_StaleIfMatch_PreconditionFailed() {
+        CustomerResponse created = create("John", "Doe", "john.doe@example.com");
+
+        webTestClient.put().uri("/customers/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(new CustomerRequest("Johnny", "Doe", "john.doe@example.com"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Johnny");
+
+        webTestClient.put().uri("/customers/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(new CustomerRequest("John", "Doe", "john.doe@example.com"))
+                .exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("PRECONDITION_FAILED");
+    }
+
+    @Test
+    void deleteCustomer_Success() {
+        CustomerResponse created = create("John", "Doe", "john.doe@example.com");
+
+        webTestClient.delete().uri("/customers/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri("/customers/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private CustomerResponse create(String firstName, String lastName, String email) {
+        return webTestClient.post().uri("/customers")
+                .bodyValue(new CustomerRequest(firstName, lastName, email))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(CustomerResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+}
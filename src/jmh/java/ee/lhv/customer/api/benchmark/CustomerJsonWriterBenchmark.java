@@ -0,0 +1,84 @@
+package ee.lhv.customer.api.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.cache.CustomerJsonCache;
+import ee.lhv.customer.api.config.JsonCacheProperties;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.format.CustomerJsonHttpMessageConverter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerJsonWriterBenchmark {
+
+    private static final Type CUSTOMER_LIST = new TypeReference<List<CustomerResponse>>() {
+    }.getType();
+
+    @Param({"jackson", "cached"})
+    public String writer;
+
+    private GenericHttpMessageConverter<Object> converter;
+    private CustomerResponse customer;
+    private List<CustomerResponse> page;
+    private final DiscardingOutputMessage message = new DiscardingOutputMessage();
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = "cached".equals(writer)
+                ? new CustomerJsonHttpMessageConverter(new CustomerJsonCache(new JsonCacheProperties(), objectMapper))
+                : new MappingJackson2HttpMessageConverter(objectMapper);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000);
+        page = LongStream.rangeClosed(1, 100)
+                .mapToObj(id -> new CustomerResponse(id, "Test" + id, "Kasutaja" + id, "test" + id + "@example.com",
+                        now, now, 0L))
+                .toList();
+        customer = page.get(0);
+        converter.write(page, CUSTOMER_LIST, MediaType.APPLICATION_JSON, message);
+    }
+
+    @Benchmark
+    public void writeSingle() throws IOException {
+        message.getHeaders().clear();
+        converter.write(customer, CustomerResponse.class, MediaType.APPLICATION_JSON, message);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(100)
+    public void writePage100() throws IOException {
+        message.getHeaders().clear();
+        converter.write(page, CUSTOMER_LIST, MediaType.APPLICATION_JSON, message);
+    }
+
+    private static final class DiscardingOutputMessage implements HttpOutputMessage {
+
+        private final HttpHeaders headers = new HttpHeaders();
+        private final OutputStream body = OutputStream.nullOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package ee.lhv.customer.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CustomerLookupBenchmark {
+
+    private static final String SEED_CUSTOMERS =
+            "INSERT INTO customers (id, first_name, last_name, email, created_dtime, modified_dtime) "
+            + "SELECT X, 'First' || X, 'Last' || X, 'customer' || X || '@example.com', "
+            + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)";
+
+    @Param({"50", "500"})
+    public int ids;
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private List<URI> singleGets;
+    private URI multiGet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.startWeb(
+                "customer-api.cache.enabled=" + cacheEnabled,
+                "customer-api.access-log.enabled=false",
+                "logging.level.org.springframework.web=WARN");
+        context.getBean(JdbcTemplate.class).update(SEED_CUSTOMERS, ids * 2);
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/customers";
+        List<Long> requested = LongStream.rangeClosed(1, ids).map(id -> id * 2).boxed().toList();
+        singleGets = requested.stream().map(id -> URI.create(baseUrl + "/" + id)).toList();
+        multiGet = URI.create(baseUrl + "?ids=" + requested.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int singleGets() throws IOException, InterruptedException {
+        int bytes = 0;
+        for (URI uri : singleGets) {
+            bytes += get(uri).length;
+        }
+        return bytes;
+    }
+
+    @Benchmark
+    public int multiGet() throws IOException, InterruptedException {
+        return get(multiGet).length;
+    }
+
+    private byte[] get(URI uri) throws IOException, InterruptedException {
+        return httpClient.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+}
@@ -0,0 +1,54 @@
+package ee.lhv.customer.api.benchmark;
+
+import ee.lhv.customer.api.dto.CustomerField;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerProjectionBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final String SEED_CUSTOMERS =
+            "INSERT INTO customers (id, first_name, last_name, email, created_dtime, modified_dtime) "
+            + "SELECT NEXT VALUE FOR customers_seq, 'First' || X, 'Last' || X, 'customer' || X || '@example.com', "
+            + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)";
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private Set<CustomerField> projection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        context.getBean(JdbcTemplate.class).update(SEED_CUSTOMERS, PAGE_SIZE);
+        customerService = context.getBean(CustomerService.class);
+        projection = CustomerField.parse("id,email");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<CustomerResponse> fullEntityPage() {
+        return customerService.getCustomers(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<CustomerResponse> projectedPage() {
+        return customerService.getCustomers(null, PAGE_SIZE, projection);
+    }
+}
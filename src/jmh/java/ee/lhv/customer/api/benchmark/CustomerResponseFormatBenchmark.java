@@ -0,0 +1,59 @@
+package ee.lhv.customer.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import ee.lhv.customer.api.dto.CustomerField;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerResponseFormatBenchmark {
+
+    private static final int RECORDS = 1000;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"all", "id,email"})
+    public String fields;
+
+    private ObjectWriter writer;
+    private List<CustomerResponse> customers;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        JsonFactory factory = switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+        writer = Jackson2ObjectMapperBuilder.json().factory(factory).build().writer();
+        Set<CustomerField> projection = "all".equals(fields) ? EnumSet.allOf(CustomerField.class) : CustomerField.parse(fields);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000);
+        customers = LongStream.rangeClosed(1, RECORDS)
+                .mapToObj(id -> new CustomerResponse(id, "Test" + id, "Kasutaja" + id, "test" + id + "@example.com",
+                        now, now, 0L).project(projection))
+                .toList();
+        System.out.printf("%n%s fields=%s: %.1f bytes per record%n",
+                format, fields, (double) writer.writeValueAsBytes(customers).length / RECORDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public byte[] serializePage() throws JsonProcessingException {
+        return writer.writeValueAsBytes(customers);
+    }
+}
@@ -0,0 +1,47 @@
+package ee.lhv.customer.api.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomerResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CustomerResponse customer;
+    private List<CustomerResponse> customers;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000);
+        customer = customer(1, now);
+        customers = LongStream.rangeClosed(1, 10_000)
+                .mapToObj(id -> customer(id, now))
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeSingle() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] serializeList10k() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customers);
+    }
+
+    private static CustomerResponse customer(long id, LocalDateTime now) {
+        return new CustomerResponse(id, "Test" + id, "Kasutaja" + id, "test" + id + "@example.com", now, now, 0L);
+    }
+}
@@ -0,0 +1,47 @@
+package ee.lhv.customer.api.benchmark;
+
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CustomerServiceBenchmark {
+
+    @Param({"true", "false"})
+    public boolean cacheEnabled;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private Long existingId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("customer-api.cache.enabled=" + cacheEnabled);
+        customerService = context.getBean(CustomerService.class);
+        existingId = customerService.createCustomer(new CustomerRequest("Bench", "Mark", "bench@example.com")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponse createCustomer() {
+        long next = sequence.incrementAndGet();
+        return customerService.createCustomer(new CustomerRequest("Bench", "Mark", "bench" + next + "@example.com"));
+    }
+
+    @Benchmark
+    public CustomerResponse getCustomerById() {
+        return customerService.getCustomerById(existingId);
+    }
+}
@@ -0,0 +1,42 @@
+package ee.lhv.customer.api.benchmark;
+
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InstrumentationOverheadBenchmark {
+
+    @Param({"true", "false"})
+    public boolean instrumented;
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private Long existingId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "customer-api.cache.enabled=false",
+                "management.observations.annotations.enabled=" + instrumented,
+                "customer-api.metrics.statement-counts=" + instrumented);
+        customerService = context.getBean(CustomerService.class);
+        existingId = customerService.createCustomer(new CustomerRequest("Bench", "Mark", "bench@example.com")).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponse getCustomerById() {
+        return customerService.getCustomerById(existingId);
+    }
+}
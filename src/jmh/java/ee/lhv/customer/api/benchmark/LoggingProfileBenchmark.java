@@ -0,0 +1,71 @@
+package ee.lhv.customer.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(16)
+public class LoggingProfileBenchmark {
+
+    @Param({"default", "prod"})
+    public String profile;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private URI existingCustomer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = "prod".equals(profile)
+                ? BenchmarkApplication.startWeb(
+                        "spring.profiles.active=prod",
+                        "logging.level.root=INFO")
+                : BenchmarkApplication.startWeb(
+                        "spring.jpa.show-sql=true",
+                        "spring.jpa.properties.hibernate.format_sql=true",
+                        "logging.level.root=INFO");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/customers";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<String> created = httpClient.send(create("logging@example.com"), HttpResponse.BodyHandlers.ofString());
+        String id = created.body().replaceAll(".*\"id\":(\\d+).*", "$1");
+        existingCustomer = URI.create(baseUrl + "/" + id);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getCustomerById() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(existingCustomer).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int createCustomer() throws IOException, InterruptedException {
+        HttpRequest request = create("logging" + sequence.incrementAndGet() + "@example.com");
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest create(String email) {
+        String body = "{\"firstName\":\"Log\",\"lastName\":\"Test\",\"email\":\"" + email + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
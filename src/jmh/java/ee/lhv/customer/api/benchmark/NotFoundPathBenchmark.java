@@ -0,0 +1,62 @@
+package ee.lhv.customer.api.benchmark;
+
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.exception.CustomerNotFoundException;
+import ee.lhv.customer.api.exception.ErrorResponseFactory;
+import ee.lhv.customer.api.exception.GlobalExceptionHandler;
+import ee.lhv.customer.api.service.CustomerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotFoundPathBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CustomerService customerService;
+    private GlobalExceptionHandler exceptionHandler;
+    private ErrorResponseFactory errorResponseFactory;
+    private Long existingId;
+    private Long missingId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("logging.level.ee.lhv.customer.api.exception=OFF");
+        customerService = context.getBean(CustomerService.class);
+        exceptionHandler = context.getBean(GlobalExceptionHandler.class);
+        errorResponseFactory = context.getBean(ErrorResponseFactory.class);
+        existingId = customerService.createCustomer(new CustomerRequest("Bench", "Mark", "bench@example.com")).getId();
+        missingId = existingId + 1_000_000;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<CustomerResponse> found() {
+        return ResponseEntity.ok(customerService.getCustomerById(existingId));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> notFound() {
+        return customerService.findCustomerById(missingId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> errorResponseFactory.customerNotFound(missingId));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> notFoundViaException() {
+        try {
+            return ResponseEntity.ok(customerService.getCustomerById(missingId));
+        } catch (CustomerNotFoundException e) {
+            return exceptionHandler.handleCustomerNotFound(e);
+        }
+    }
+}
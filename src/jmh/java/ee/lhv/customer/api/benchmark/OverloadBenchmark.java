@@ -0,0 +1,74 @@
+package ee.lhv.customer.api.benchmark;
+
+import ee.lhv.customer.api.limit.AdaptiveConcurrencyLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class OverloadBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+
+    @Param({"false", "true"})
+    public boolean concurrencyLimit;
+
+    private final AtomicLong ok = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI listPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = BenchmarkApplication.startWeb(
+                "spring.datasource.hikari.maximum-pool-size=4",
+                "spring.datasource.hikari.connection-timeout=2000",
+                "customer-api.cache.enabled=false",
+                "customer-api.concurrency-limit.enabled=" + concurrencyLimit,
+                "customer-api.concurrency-limit.initial-limit=8");
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/customers";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        for (int i = 0; i < CUSTOMERS; i++) {
+            String body = "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"overload" + i + "@example.com\"}";
+            httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.discarding());
+        }
+        listPage = URI.create(baseUrl + "?limit=500");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nconcurrencyLimit=%s ok=%d shed=%d limit=%s%n", concurrencyLimit, ok.get(), shed.get(),
+                context.getBeanProvider(AdaptiveConcurrencyLimiter.class).stream()
+                        .map(limiter -> String.valueOf(limiter.limit())).findFirst().orElse("none"));
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int listCustomers() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(listPage).GET().build();
+        HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() == 200) {
+            ok.incrementAndGet();
+        } else {
+            shed.incrementAndGet();
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(0);
+            TimeUnit.SECONDS.sleep(retryAfter);
+        }
+        return response.statusCode();
+    }
+}
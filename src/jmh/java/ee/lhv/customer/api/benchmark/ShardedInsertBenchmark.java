@@ -0,0 +1,47 @@
+package ee.lhv.customer.api.benchmark;
+
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.service.CustomerOperations;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class ShardedInsertBenchmark {
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int shards;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private CustomerOperations customerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start(
+                "customer-api.cache.enabled=false",
+                "customer-api.email-index.enabled=false",
+                "customer-api.shards.enabled=" + (shards > 0),
+                "customer-api.shards.count=" + Math.max(1, shards),
+                "customer-api.shards.url=jdbc:h2:mem:bench-shard-" + UUID.randomUUID() + "-{shard};DB_CLOSE_DELAY=-1");
+        customerService = context.getBean(CustomerOperations.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CustomerResponse createCustomer() {
+        long next = sequence.incrementAndGet();
+        return customerService.createCustomer(new CustomerRequest("Bench", "Mark", "bench" + next + "@example.com"));
+    }
+}
@@ -0,0 +1,68 @@
+package ee.lhv.customer.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+    private static final String SEED_CUSTOMERS =
+            "INSERT INTO customers (id, first_name, last_name, email, created_dtime, modified_dtime) "
+            + "SELECT NEXT VALUE FOR customers_seq, 'First' || X, 'Last' || X, 'customer' || X || '@example.com', "
+            + "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?)";
+
+    @Param({"1000000"})
+    public int customers;
+
+    @Param({"true", "false"})
+    public boolean skipLiquibaseWhenCurrent;
+
+    private Path storage;
+    private HttpClient httpClient;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        storage = Files.createTempDirectory("customer-api-startup");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try (ConfigurableApplicationContext context = start()) {
+            context.getBean(JdbcTemplate.class).update(SEED_CUSTOMERS, customers);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        httpClient.close();
+        FileSystemUtils.deleteRecursively(storage);
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        try (ConfigurableApplicationContext context = start()) {
+            URI customer = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/customers/" + customers / 2);
+            return httpClient.send(HttpRequest.newBuilder(customer).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return BenchmarkApplication.startWeb(
+                "spring.profiles.active=persistent",
+                "customer-api.storage.path=" + storage.resolve("customers").toAbsolutePath(),
+                "spring.datasource.url=jdbc:h2:file:${customer-api.storage.path};${customer-api.storage.options}",
+                "customer-api.liquibase.skip-when-current=" + skipLiquibaseWhenCurrent);
+    }
+}
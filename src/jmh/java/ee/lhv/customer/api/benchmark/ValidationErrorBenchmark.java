@@ -0,0 +1,70 @@
+package ee.lhv.customer.api.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ee.lhv.customer.api.controller.CustomerController;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.exception.ErrorResponseFactory;
+import ee.lhv.customer.api.exception.GlobalExceptionHandler;
+import ee.lhv.customer.api.exception.ValidationErrorResponse;
+import ee.lhv.customer.api.metrics.ErrorMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationErrorBenchmark {
+
+    private final ErrorMetrics errorMetrics = new ErrorMetrics(new SimpleMeterRegistry());
+    private final GlobalExceptionHandler handler =
+            new GlobalExceptionHandler(new ErrorResponseFactory(errorMetrics), errorMetrics);
+    private final CustomerRequest invalidRequest = new CustomerRequest("", "", "invalid-email");
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private MethodParameter parameter;
+    private MethodArgumentNotValidException exception;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.OFF);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        parameter = new MethodParameter(
+                CustomerController.class.getMethod("createCustomer", CustomerRequest.class), 0);
+        exception = validate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<ValidationErrorResponse> handleValidationErrors() {
+        return handler.handleValidationErrors(exception);
+    }
+
+    @Benchmark
+    public ResponseEntity<ValidationErrorResponse> validateAndHandle() {
+        return handler.handleValidationErrors(validate());
+    }
+
+    private MethodArgumentNotValidException validate() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(invalidRequest, "customerRequest");
+        validator.validate(invalidRequest).forEach(violation -> bindingResult.addError(new FieldError(
+                "customerRequest", violation.getPropertyPath().toString(), violation.getMessage())));
+        return new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+}
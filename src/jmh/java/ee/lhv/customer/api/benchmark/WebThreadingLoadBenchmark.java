@@ -0,0 +1,66 @@
+package ee.lhv.customer.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class WebThreadingLoadBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private URI existingCustomer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        context = virtualThreads
+                ? BenchmarkApplication.startWeb("spring.profiles.active=virtual-threads")
+                : BenchmarkApplication.startWeb();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/customers";
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpResponse<String> created = httpClient.send(create("load@example.com"), HttpResponse.BodyHandlers.ofString());
+        String id = created.body().replaceAll(".*\"id\":(\\d+).*", "$1");
+        existingCustomer = URI.create(baseUrl + "/" + id);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getCustomerById() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(existingCustomer).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int createCustomer() throws IOException, InterruptedException {
+        HttpRequest request = create("load" + sequence.incrementAndGet() + "@example.com");
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest create(String email) {
+        String body = "{\"firstName\":\"Load\",\"lastName\":\"Test\",\"email\":\"" + email + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
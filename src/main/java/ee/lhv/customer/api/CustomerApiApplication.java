@@ -2,11 +2,13 @@ package ee.lhv.customer.api;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class CustomerApiApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(CustomerApiApplication.class, args);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,205 @@
+package ee.lhv.customer.api.archive;
+
+import ee.lhv.customer.api.config.ArchiveProperties;
+import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.exception.EmailAlreadyExistsException;
+import ee.lhv.customer.api.repository.CustomerArchiveRepository;
+import ee.lhv.customer.api.shard.CustomerShard;
+import ee.lhv.customer.api.shard.ShardedCustomerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerArchive implements SmartLifecycle, MeterBinder {
+
+    private final ArchiveProperties properties;
+    private final CustomerArchiveRepository customerArchiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<ShardedCustomerRepository> shardedCustomerRepository;
+    private volatile Counter archived;
+    private volatile Counter restored;
+    private volatile boolean stopping;
+    private volatile ScheduledExecutorService archiveExecutor;
+
+    public Optional<Customer> find(long id) {
+        return target(id).repository.findById(id);
+    }
+
+    public List<Customer> findAll(Collection<Long> ids) {
+        Map<Target, List<Long>> idsByTarget = ids.stream().collect(Collectors.groupingBy(this::target));
+        List<Customer> customers = new ArrayList<>();
+        idsByTarget.forEach((target, targetIds) -> customers.addAll(target.getRepository().findAllById(targetIds)));
+        return customers;
+    }
+
+    public boolean restore(long id) {
+        Optional<Customer> archived = find(id);
+        if (archived.isEmpty()) {
+            return false;
+        }
+        try {
+            if (restoreAll(List.of(id)) > 0 || find(id).isEmpty()) {
+                return true;
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Restoring customer {} lost a race for its email", id, e);
+        }
+        throw new EmailAlreadyExistsException(archived.get().getEmail());
+    }
+
+    public int restoreAll(Collection<Long> ids) {
+        Map<Target, List<Long>> idsByTarget = ids.stream().collect(Collectors.groupingBy(this::target));
+        int count = 0;
+        for (Map.Entry<Target, List<Long>> entry : idsByTarget.entrySet()) {
+            Target target = entry.getKey();
+            count += target.getTransactionTemplate()
+                    .execute(status -> target.getRepository().restore(entry.getValue()));
+        }
+        if (count > 0) {
+            log.info("Restored {} archived customers", count);
+            if (restored != null) {
+                restored.increment(count);
+            }
+        }
+        return count;
+    }
+
+    public void archive() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Target target : targets()) {
+            int deleted = archive(target, now.minus(properties.getDeletedAfter()));
+            if (archived != null) {
+                archived.increment(deleted);
+            }
+            if (deleted > 0) {
+                log.info("Archived {} deleted customers", deleted);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        archived = Counter.builder("customer.api.archive.archived")
+                .description("Deleted customers moved from the customers table to customers_archive")
+                .tag("reason", "deleted")
+                .register(registry);
+        restored = Counter.builder("customer.api.archive.restored")
+                .description("Archived customers moved back to the customers table by a write")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        stopping = false;
+        long intervalMillis = properties.getInterval().toMillis();
+        archiveExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("customer-archive")
+                .daemon(true)
+                .factory());
+        archiveExecutor.scheduleWithFixedDelay(this::archiveSafely, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ExecutorService executor = archiveExecutor;
+        if (executor == null) {
+            return;
+        }
+        stopping = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        archiveExecutor = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return archiveExecutor != null;
+    }
+
+    private int archive(Target target, LocalDateTime deletedBefore) {
+        int total = 0;
+        int batch;
+        do {
+            batch = target.getTransactionTemplate().execute(status -> {
+                List<Long> ids = target.getRepository().lockDeleted(deletedBefore, properties.getBatchSize());
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                return target.getRepository().archive(ids);
+            });
+            total += batch;
+        } while (batch == properties.getBatchSize() && !stopping);
+        return total;
+    }
+
+    private void archiveSafely() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.error("Customer archival failed", e);
+        }
+    }
+
+    private Target target(long id) {
+        ShardedCustomerRepository sharded = shardedCustomerRepository.getIfAvailable();
+        return sharded == null
+                ? new Target(customerArchiveRepository, transactionTemplate) : target(sharded.shardForId(id));
+    }
+
+    private List<Target> targets() {
+        ShardedCustomerRepository sharded = shardedCustomerRepository.getIfAvailable();
+        if (sharded == null) {
+            return List.of(new Target(customerArchiveRepository, transactionTemplate));
+        }
+        List<Target> targets = new ArrayList<>();
+        for (int i = 0; i < sharded.shardCount(); i++) {
+            targets.add(target(sharded.shardForId(i)));
+        }
+        return targets;
+    }
+
+    private static Target target(CustomerShard shard) {
+        return new Target(shard.getCustomerArchiveRepository(), shard.getTransactionTemplate());
+    }
+
+    @Value
+    private static class Target {
+
+        CustomerArchiveRepository repository;
+        TransactionTemplate transactionTemplate;
+    }
+}
@@ -0,0 +1,122 @@
+package ee.lhv.customer.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import ee.lhv.customer.api.config.CustomerCacheProperties;
+import ee.lhv.customer.api.datasource.ReadYourWrites;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+@Component
+@Slf4j
+public class CustomerCache implements MeterBinder {
+
+    private final Cache<Long, Optional<CustomerResponse>> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CustomerCache(CustomerCacheProperties properties) {
+        if (properties.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(properties.getMaximumSize())
+                    .expireAfter(expiry(properties.getExpireAfterWrite().toNanos(),
+                            properties.getNotFoundExpireAfterWrite().toNanos()))
+                    .recordStats()
+                    .build();
+            log.info("Customer cache enabled with maximum size {} and TTL {}",
+                    properties.getMaximumSize(), properties.getExpireAfterWrite());
+        } else {
+            this.cache = null;
+        }
+    }
+
+    public Optional<CustomerResponse> get(Long id, Function<Long, Optional<CustomerResponse>> loader) {
+        if (cache == null) {
+            return loader.apply(id);
+        }
+        return cache.get(id, key -> ReadYourWrites.onPrimary(() -> loader.apply(key)));
+    }
+
+    public Map<Long, Optional<CustomerResponse>> getAll(
+            Collection<Long> ids, Function<Set<? extends Long>, Map<Long, Optional<CustomerResponse>>> loader) {
+        if (cache == null) {
+            return loader.apply(new LinkedHashSet<>(ids));
+        }
+        Map<Long, Optional<CustomerResponse>> customers = new HashMap<>(cache.getAllPresent(ids));
+        Set<Long> missing = new LinkedHashSet<>(ids);
+        missing.removeAll(customers.keySet());
+        if (missing.isEmpty()) {
+            return customers;
+        }
+        long stamp = invalidations.get();
+        ReadYourWrites.onPrimary(() -> loader.apply(missing)).forEach((id, customer) -> {
+            cache.asMap().compute(id, (key, current) ->
+                    current != null || invalidations.get() != stamp ? current : customer);
+            customers.put(id, customer);
+        });
+        return customers;
+    }
+
+    public void invalidate(Long id) {
+        if (cache != null) {
+            cache.asMap().compute(id, (key, current) -> {
+                invalidations.incrementAndGet();
+                return null;
+            });
+        }
+    }
+
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (cache != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, "customers");
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        invalidate(event.getCustomerId());
+    }
+
+    private static Expiry<Long, Optional<CustomerResponse>> expiry(long foundNanos, long notFoundNanos) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(Long id, Optional<CustomerResponse> customer, long currentTime) {
+                return customer.isPresent() ? foundNanos : notFoundNanos;
+            }
+
+            @Override
+            public long expireAfterUpdate(Long id, Optional<CustomerResponse> customer,
+                                          long currentTime, long currentDuration) {
+                return expireAfterCreate(id, customer, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(Long id, Optional<CustomerResponse> customer,
+                                        long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
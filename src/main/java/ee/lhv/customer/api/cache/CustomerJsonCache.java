@@ -0,0 +1,91 @@
+package ee.lhv.customer.api.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import ee.lhv.customer.api.config.JsonCacheProperties;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.UncheckedIOException;
+
+@Slf4j
+public class CustomerJsonCache implements MeterBinder {
+
+    private final Cache<Long, Fragment> cache;
+    private final ObjectWriter writer;
+
+    public CustomerJsonCache(JsonCacheProperties properties, ObjectMapper objectMapper) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .recordStats()
+                .build();
+        this.writer = objectMapper.writerFor(CustomerResponse.class);
+        log.info("Customer JSON cache enabled with maximum size {}", properties.getMaximumSize());
+    }
+
+    public byte[] json(CustomerResponse customer) {
+        if (customer.getId() == null || !complete(customer)) {
+            return render(customer);
+        }
+        Fragment fragment = cache.getIfPresent(customer.getId());
+        if (fragment != null && (fragment.source == customer || fragment.source.equals(customer))) {
+            return fragment.json;
+        }
+        byte[] json = render(customer);
+        cache.put(customer.getId(), new Fragment(customer, json));
+        return json;
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "customer-json");
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        invalidate(event.getCustomerId());
+    }
+
+    private byte[] render(CustomerResponse customer) {
+        try {
+            return writer.writeValueAsBytes(customer);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean complete(CustomerResponse customer) {
+        return customer.getFirstName() != null && customer.getLastName() != null && customer.getEmail() != null
+                && customer.getCreatedDtime() != null && customer.getModifiedDtime() != null
+                && customer.getVersion() != null;
+    }
+
+    private static final class Fragment {
+
+        private final CustomerResponse source;
+        private final byte[] json;
+
+        private Fragment(CustomerResponse source, byte[] json) {
+            this.source = source;
+            this.json = json;
+        }
+    }
+}
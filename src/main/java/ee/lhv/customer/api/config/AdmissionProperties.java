@@ -0,0 +1,16 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = false;
+    private int permits = 0;
+    private int maxWaiting = 200;
+    private Duration acquireTimeout = Duration.ofSeconds(1);
+}
@@ -0,0 +1,16 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.archive")
+public class ArchiveProperties {
+
+    private boolean enabled = true;
+    private Duration interval = Duration.ofHours(1);
+    private int batchSize = 500;
+    private Duration deletedAfter = Duration.ofDays(7);
+}
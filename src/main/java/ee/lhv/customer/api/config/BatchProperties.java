@@ -0,0 +1,12 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.batch")
+public class BatchProperties {
+
+    private int maxSize = 10000;
+    private int chunkSize = 1000;
+}
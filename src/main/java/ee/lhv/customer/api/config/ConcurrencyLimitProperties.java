@@ -0,0 +1,18 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = false;
+    private int initialLimit = 20;
+    private int minLimit = 2;
+    private int maxLimit = 200;
+    private Duration latencyThreshold = Duration.ofMillis(250);
+    private double backoffRatio = 0.9;
+}
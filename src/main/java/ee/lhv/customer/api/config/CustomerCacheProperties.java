@@ -0,0 +1,16 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.cache")
+public class CustomerCacheProperties {
+
+    private boolean enabled = true;
+    private long maximumSize = 100_000;
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    private Duration notFoundExpireAfterWrite = Duration.ofSeconds(30);
+}
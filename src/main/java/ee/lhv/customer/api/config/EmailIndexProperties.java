@@ -0,0 +1,13 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.email-index")
+public class EmailIndexProperties {
+
+    private boolean enabled = false;
+    private long expectedInsertions = 1_000_000;
+    private double falsePositiveProbability = 0.01;
+}
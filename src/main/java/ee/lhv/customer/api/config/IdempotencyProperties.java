@@ -0,0 +1,19 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.idempotency")
+public class IdempotencyProperties {
+
+    private long maximumSize = 100_000;
+    private Duration ttl = Duration.ofHours(24);
+    private Duration waitTimeout = Duration.ofSeconds(10);
+    private int maxKeyLength = 255;
+    private boolean persistent = false;
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+    private String clientIdHeader = "X-Api-Key";
+}
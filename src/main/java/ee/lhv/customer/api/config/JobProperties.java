@@ -0,0 +1,16 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.jobs")
+public class JobProperties {
+
+    private Path directory = Path.of("data", "jobs");
+    private int batchSize = 1000;
+    private int maxConcurrent = 2;
+    private boolean resumeOnStartup = false;
+}
@@ -0,0 +1,12 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.json-cache")
+public class JsonCacheProperties {
+
+    private boolean enabled = true;
+    private long maximumSize = 100_000;
+}
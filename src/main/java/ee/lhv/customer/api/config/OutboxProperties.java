@@ -0,0 +1,34 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.outbox")
+public class OutboxProperties {
+
+    private boolean enabled = true;
+    private int defaultLimit = 100;
+    private int maxLimit = 1000;
+    private Duration maxWait = Duration.ofSeconds(30);
+    private Duration retention = Duration.ofDays(7);
+    private Duration compactAfter = Duration.ofHours(1);
+    private Duration cleanupInterval = Duration.ofMinutes(10);
+    private Duration publishInterval = Duration.ofSeconds(1);
+
+    public int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+
+    public Duration resolveWait(Duration wait) {
+        if (wait == null || wait.compareTo(maxWait) > 0) {
+            return maxWait;
+        }
+        return wait.isNegative() ? Duration.ZERO : wait;
+    }
+}
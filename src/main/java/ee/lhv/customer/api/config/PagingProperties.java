@@ -0,0 +1,20 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.paging")
+public class PagingProperties {
+
+    private int defaultLimit = 100;
+    private int maxLimit = 1000;
+    private int streamFetchSize = 500;
+
+    public int resolveLimit(Integer limit) {
+        if (limit == null) {
+            return defaultLimit;
+        }
+        return Math.max(1, Math.min(limit, maxLimit));
+    }
+}
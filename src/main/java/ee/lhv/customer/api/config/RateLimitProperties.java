@@ -0,0 +1,20 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+    private int capacity = 200;
+    private double refillPerSecond = 100;
+    private String clientIdHeader = "X-Api-Key";
+    private int addressCapacity = 1000;
+    private double addressRefillPerSecond = 500;
+    private long maximumClients = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+}
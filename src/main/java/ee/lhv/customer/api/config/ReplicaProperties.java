@@ -0,0 +1,30 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.replicas")
+public class ReplicaProperties {
+
+    private boolean enabled = false;
+    private List<Node> nodes = new ArrayList<>();
+    private int maximumPoolSize = 10;
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration readYourWritesWindow = Duration.ofSeconds(2);
+    private long readYourWritesMaximumClients = 100_000;
+    private String clientIdHeader = "X-Api-Key";
+    private boolean initializeSchema = false;
+
+    @Data
+    public static class Node {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,21 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.shards")
+public class ShardProperties {
+
+    private boolean enabled = false;
+    private int count = 4;
+    private String url = "jdbc:h2:mem:customers-shard-{shard};DB_CLOSE_DELAY=-1";
+    private String username = "sa";
+    private String password = "";
+    private int maximumPoolSize = 10;
+    private boolean releaseOrphanedClaimsOnStartup = true;
+
+    public String resolveUrl(int shard) {
+        return url.replace("{shard}", String.valueOf(shard));
+    }
+}
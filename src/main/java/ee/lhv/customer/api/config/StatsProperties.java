@@ -0,0 +1,17 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.stats")
+public class StatsProperties {
+
+    private Duration reconcileInterval = Duration.ofMinutes(10);
+    private int defaultDays = 30;
+    private int maxDays = 366;
+    private int defaultDomains = 20;
+    private int maxDomains = 1000;
+}
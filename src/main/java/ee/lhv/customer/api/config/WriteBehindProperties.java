@@ -0,0 +1,17 @@
+package ee.lhv.customer.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "customer-api.write-behind")
+public class WriteBehindProperties {
+
+    private boolean enabled = false;
+    private Duration flushInterval = Duration.ofMillis(100);
+    private int maxPending = 10000;
+    private int batchSize = 1000;
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
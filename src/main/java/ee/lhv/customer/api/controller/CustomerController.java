@@ -1,57 +1,234 @@
 package ee.lhv.customer.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import ee.lhv.customer.api.config.OutboxProperties;
+import ee.lhv.customer.api.config.PagingProperties;
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.dto.CustomerBatchResponse;
+import ee.lhv.customer.api.dto.CustomerChangesResponse;
+import ee.lhv.customer.api.dto.CustomerField;
+import ee.lhv.customer.api.dto.CustomerLookupResponse;
 import ee.lhv.customer.api.dto.CustomerRequest;
 import ee.lhv.customer.api.dto.CustomerResponse;
-import ee.lhv.customer.api.service.CustomerService;
+import ee.lhv.customer.api.dto.CustomerStatsResponse;
+import ee.lhv.customer.api.exception.ErrorResponseFactory;
+import ee.lhv.customer.api.idempotency.IdempotencyStore;
+import ee.lhv.customer.api.limit.RateLimitCost;
+import ee.lhv.customer.api.outbox.CustomerChangeFeed;
+import ee.lhv.customer.api.service.CustomerBatchProcessor;
+import ee.lhv.customer.api.service.CustomerOperations;
+import ee.lhv.customer.api.service.CustomerWriteBehind;
+import ee.lhv.customer.api.stats.CustomerStatistics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/customers")
 @RequiredArgsConstructor
-@Slf4j
 public class CustomerController {
 
-    private final CustomerService customerService;
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    private final CustomerOperations customerService;
+    private final CustomerBatchProcessor customerBatchService;
+    private final CustomerWriteBehind customerWriteBehind;
+    private final ErrorResponseFactory errorResponseFactory;
+    private final CustomerChangeFeed customerChangeFeed;
+    private final PagingProperties pagingProperties;
+    private final OutboxProperties outboxProperties;
+    private final CustomerStatistics customerStatistics;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
 
     @PostMapping
-    public ResponseEntity<CustomerResponse> createCustomer(@Valid @RequestBody CustomerRequest request) {
-        log.info("Creating new customer with email: {}", request.getEmail());
+    public ResponseEntity<?> createCustomer(@Valid @RequestBody CustomerRequest request,
+                                            @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY, required = false)
+                                            String idempotencyKey,
+                                            HttpServletRequest servletRequest) {
+        if (idempotencyKey != null) {
+            return idempotencyStore.execute(idempotencyKey, servletRequest, request,
+                    () -> new ResponseEntity<>(customerService.createCustomer(request), HttpStatus.CREATED));
+        }
         CustomerResponse response = customerService.createCustomer(request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<CustomerResponse> getCustomerById(@PathVariable Long id) {
-        log.info("Fetching customer with id: {}", id);
-        CustomerResponse response = customerService.getCustomerById(id);
+    @PostMapping("/batch")
+    @RateLimitCost(20)
+    public ResponseEntity<?> processBatch(@RequestBody List<CustomerBatchOperation> operations,
+                                          @RequestHeader(value = IdempotencyStore.IDEMPOTENCY_KEY, required = false)
+                                          String idempotencyKey,
+                                          HttpServletRequest servletRequest) {
+        if (idempotencyKey != null) {
+            return idempotencyStore.execute(idempotencyKey, servletRequest, operations,
+                    () -> ResponseEntity.ok(customerBatchService.processBatch(operations)));
+        }
+        CustomerBatchResponse response = customerBatchService.processBatch(operations);
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping
-    public ResponseEntity<List<CustomerResponse>> getAllCustomers() {
-        log.info("Fetching all customers");
-        List<CustomerResponse> customers = customerService.getAllCustomers();
+    @GetMapping("/{id}")
+    public ResponseEntity<?> getCustomerById(@PathVariable Long id, @RequestParam(required = false) String fields,
+                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        Set<CustomerField> projection = fields == null ? null : CustomerField.parse(fields);
+        CustomerWriteBehind.PendingUpdate pending = customerWriteBehind.pending(id);
+        if (pending != null || projection != null) {
+            return customerService.findCustomerById(id)
+                    .map(customer -> pending == null ? customer : pending.applyTo(customer))
+                    .map(customer -> projection == null ? customer : customer.project(projection))
+                    .<ResponseEntity<?>>map(customer -> ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(customer))
+                    .orElseGet(() -> errorResponseFactory.customerNotFound(id));
+        }
+        return customerService.findCustomerById(id)
+                .<ResponseEntity<?>>map(customer -> ResponseEntity.ok()
+                        .varyBy(HttpHeaders.ACCEPT)
+                        .eTag(CustomerETags.of(customer, accept))
+                        .lastModified(CustomerETags.lastModified(customer))
+                        .body(customer))
+                .orElseGet(() -> errorResponseFactory.customerNotFound(id));
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, APPLICATION_SMILE_VALUE})
+    @RateLimitCost(10)
+    public ResponseEntity<List<CustomerResponse>> getCustomers(@RequestParam(required = false) Long after,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               @RequestParam(required = false) String fields,
+                                                               @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                                               String accept) {
+        int pageSize = pagingProperties.resolveLimit(limit);
+        List<CustomerResponse> customers = fields == null
+                ? customerService.getCustomers(after, pageSize)
+                : customerService.getCustomers(after, pageSize, CustomerField.parse(fields));
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        if (fields == null) {
+            builder.eTag(CustomerETags.of(customers, accept))
+                    .lastModified(CustomerETags.lastModified(customers));
+        }
+        if (customers.size() == pageSize) {
+            Long nextCursor = customers.get(customers.size() - 1).getId();
+            String nextLink = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", nextCursor)
+                    .replaceQueryParam("limit", pageSize)
+                    .toUriString();
+            builder.header(HttpHeaders.LINK, "<" + nextLink + ">; rel=\"next\"");
+        }
+        return builder.body(customers);
+    }
+
+    @GetMapping(params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            APPLICATION_SMILE_VALUE})
+    @RateLimitCost(5)
+    public ResponseEntity<CustomerLookupResponse> getCustomersByIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT).body(lookupCustomers(ids));
+    }
+
+    @PostMapping("/lookup")
+    @RateLimitCost(5)
+    public ResponseEntity<CustomerLookupResponse> lookupCustomersByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(lookupCustomers(ids));
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    @RateLimitCost(100)
+    public void streamCustomers(HttpServletResponse response) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        ObjectWriter writer = objectMapper.writerFor(CustomerResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.setRootValueSeparator(null);
+            customerService.streamAllCustomers(customer -> {
+                try {
+                    writer.writeValue(generator, customer);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @GetMapping("/changes")
+    public DeferredResult<CustomerChangesResponse> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                              @RequestParam(required = false) Integer limit,
+                                                              @RequestParam(required = false) Long wait) {
+        return customerChangeFeed.poll(since, outboxProperties.resolveLimit(limit),
+                outboxProperties.resolveWait(wait == null ? null : Duration.ofSeconds(wait)));
+    }
+
+    @GetMapping("/stats")
+    public CustomerStatsResponse getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer domains) {
+        return customerStatistics.getStats(from, to, domains);
+    }
+
+    @GetMapping("/search")
+    @RateLimitCost(5)
+    public ResponseEntity<List<CustomerResponse>> searchCustomers(@RequestParam("q") String query,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(defaultValue = "0") int offset) {
+        List<CustomerResponse> customers =
+                customerService.searchCustomers(query, pagingProperties.resolveLimit(limit), offset);
         return ResponseEntity.ok(customers);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<CustomerResponse> updateCustomer(@PathVariable Long id, @Valid @RequestBody CustomerRequest request) {
-        log.info("Updating customer with id: {}", id);
-        CustomerResponse response = customerService.updateCustomer(id, request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> updateCustomer(@PathVariable Long id,
+                                            @Valid @RequestBody CustomerRequest request,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (ifMatch == null && customerWriteBehind.isEnabled()) {
+            return ResponseEntity.accepted().body(customerWriteBehind.submit(id, request));
+        }
+        CustomerResponse response = customerService.updateCustomer(id, request, CustomerETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(CustomerETags.of(response))
+                .lastModified(CustomerETags.lastModified(response))
+                .body(response);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCustomer(@PathVariable Long id) {
-        log.info("Deleting customer with id: {}", id);
-        customerService.deleteCustomer(id);
+    public ResponseEntity<Void> deleteCustomer(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        customerService.deleteCustomer(id, CustomerETags.expectedVersion(ifMatch));
+        customerWriteBehind.discard(id);
         return ResponseEntity.noContent().build();
     }
+
+    private CustomerLookupResponse lookupCustomers(List<Long> ids) {
+        CustomerLookupResponse response = customerService.lookupCustomers(ids);
+        if (!customerWriteBehind.isEnabled()) {
+            return response;
+        }
+        List<CustomerResponse> customers = response.getCustomers().stream()
+                .map(customer -> {
+                    CustomerWriteBehind.PendingUpdate pending = customerWriteBehind.pending(customer.getId());
+                    return pending == null ? customer : pending.applyTo(customer);
+                })
+                .toList();
+        return new CustomerLookupResponse(customers, response.getMissing());
+    }
 }
\ No newline at end of file
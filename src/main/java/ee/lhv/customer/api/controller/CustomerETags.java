@@ -0,0 +1,102 @@
+package ee.lhv.customer.api.controller;
+
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.exception.PreconditionFailedException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+public final class CustomerETags {
+
+    private static final MediaType APPLICATION_SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private CustomerETags() {
+    }
+
+    public static String of(CustomerResponse customer) {
+        return of(customer, null);
+    }
+
+    public static String of(CustomerResponse customer, String accept) {
+        return "\"" + customer.getVersion() + formatSuffix(accept) + "\"";
+    }
+
+    public static String of(List<CustomerResponse> customers) {
+        return of(customers, null);
+    }
+
+    public static String of(List<CustomerResponse> customers, String accept) {
+        long hash = 1;
+        for (CustomerResponse customer : customers) {
+            hash = 31 * hash + Objects.hashCode(customer.getId());
+            hash = 31 * hash + Objects.hashCode(customer.getVersion());
+        }
+        return "\"" + Long.toHexString(hash) + "-" + customers.size() + formatSuffix(accept) + "\"";
+    }
+
+    public static Instant lastModified(CustomerResponse customer) {
+        return toInstant(customer.getModifiedDtime());
+    }
+
+    public static Instant lastModified(List<CustomerResponse> customers) {
+        return customers.stream()
+                .map(CustomerResponse::getModifiedDtime)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .map(CustomerETags::toInstant)
+                .orElse(Instant.EPOCH);
+    }
+
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.length() > 2 && etag.startsWith("\"") && etag.endsWith("\"")) {
+            String value = etag.substring(1, etag.length() - 1);
+            int suffix = value.indexOf('-');
+            try {
+                return Long.parseLong(suffix < 0 ? value : value.substring(0, suffix));
+            } catch (NumberFormatException ignored) {
+                // fall through to the precondition failure below
+            }
+        }
+        throw new PreconditionFailedException("If-Match " + ifMatch + " does not match any customer version");
+    }
+
+    private static String formatSuffix(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return "";
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType mediaType : acceptable) {
+            if (mediaType.includes(MediaType.APPLICATION_JSON)) {
+                return "";
+            }
+            if (mediaType.includes(MediaType.APPLICATION_CBOR)) {
+                return "-cbor";
+            }
+            if (mediaType.includes(APPLICATION_SMILE)) {
+                return "-smile";
+            }
+        }
+        return "";
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime == null ? Instant.EPOCH : dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
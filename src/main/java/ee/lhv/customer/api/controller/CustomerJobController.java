@@ -0,0 +1,94 @@
+package ee.lhv.customer.api.controller;
+
+import ee.lhv.customer.api.dto.CustomerJobResponse;
+import ee.lhv.customer.api.job.CustomerJob;
+import ee.lhv.customer.api.job.CustomerJobService;
+import ee.lhv.customer.api.limit.RateLimitCost;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/customers/jobs")
+@RequiredArgsConstructor
+public class CustomerJobController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final String APPLICATION_GZIP_VALUE = "application/gzip";
+
+    private final CustomerJobService customerJobService;
+
+    @PostMapping("/import")
+    @RateLimitCost(100)
+    public ResponseEntity<CustomerJobResponse> importCustomers(@RequestParam(defaultValue = "ndjson") String format,
+                                                               InputStream body) {
+        return accepted(customerJobService.submitImport(CustomerJob.Format.parse(format), body));
+    }
+
+    @PostMapping("/export")
+    @RateLimitCost(100)
+    public ResponseEntity<CustomerJobResponse> exportCustomers(@RequestParam(defaultValue = "ndjson") String format,
+                                                               @RequestParam(defaultValue = "true") boolean compressed) {
+        return accepted(customerJobService.submitExport(CustomerJob.Format.parse(format), compressed));
+    }
+
+    @GetMapping
+    public List<CustomerJobResponse> getJobs(@RequestParam(defaultValue = "20") int limit) {
+        return customerJobService.getJobs(Math.max(1, Math.min(limit, 100))).stream()
+                .map(CustomerJobResponse::new)
+                .toList();
+    }
+
+    @GetMapping("/{id}")
+    public CustomerJobResponse getJob(@PathVariable String id) {
+        return new CustomerJobResponse(customerJobService.getJob(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<CustomerJobResponse> resumeJob(@PathVariable String id) {
+        return accepted(customerJobService.resume(id));
+    }
+
+    @GetMapping("/{id}/file")
+    @RateLimitCost(100)
+    public void downloadFile(@PathVariable String id, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path file = customerJobService.resultFile(id);
+        long length = Files.size(file);
+        String name = file.getFileName().toString();
+        response.setContentType(name.endsWith(".gz") ? APPLICATION_GZIP_VALUE
+                : name.endsWith(".csv") ? CustomerJob.Format.CSV.getContentType()
+                : CustomerJob.Format.NDJSON.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "\"");
+        response.setContentLengthLong(length);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return;
+        }
+        Files.copy(file, response.getOutputStream());
+    }
+
+    private static ResponseEntity<CustomerJobResponse> accepted(CustomerJob job) {
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+                .path("/customers/jobs/{id}")
+                .buildAndExpand(job.getId())
+                .toUri();
+        return ResponseEntity.accepted().location(location).body(new CustomerJobResponse(job));
+    }
+}
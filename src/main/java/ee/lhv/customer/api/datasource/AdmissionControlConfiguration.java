@@ -0,0 +1,39 @@
+package ee.lhv.customer.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import ee.lhv.customer.api.config.AdmissionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "customer-api.admission", name = "enabled", havingValue = "true")
+@Slf4j
+public class AdmissionControlConfiguration {
+
+    @Bean
+    static BeanPostProcessor admissionControlledDataSourcePostProcessor(
+            ObjectProvider<AdmissionProperties> properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikariDataSource)) {
+                    return bean;
+                }
+                AdmissionProperties admission = properties.getObject();
+                int permits = admission.getPermits() > 0
+                        ? admission.getPermits()
+                        : hikariDataSource.getMaximumPoolSize();
+                log.info("Limiting database admission of '{}' to {} permits and {} waiters",
+                        beanName, permits, admission.getMaxWaiting());
+                AdmissionLimiter limiter = new AdmissionLimiter(
+                        permits, admission.getMaxWaiting(), admission.getAcquireTimeout(), meterRegistry.getObject());
+                return new AdmissionControlledDataSource(hikariDataSource, limiter);
+            }
+        };
+    }
+}
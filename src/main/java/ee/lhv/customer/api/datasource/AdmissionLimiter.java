@@ -0,0 +1,81 @@
+package ee.lhv.customer.api.datasource;
+
+import ee.lhv.customer.api.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdmissionLimiter {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final int maxWaiting;
+    private final long acquireTimeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public AdmissionLimiter(int maxPermits, int maxWaiting, Duration acquireTimeout, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxPermits, true);
+        this.maxPermits = maxPermits;
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.waitTimer = Timer.builder("customer.db.admission.wait")
+                .description("Time spent waiting for a database admission permit")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("customer.db.admission.rejected")
+                .description("Database work rejected because the admission queue was full or timed out")
+                .register(meterRegistry);
+        Gauge.builder("customer.db.admission.active", this, AdmissionLimiter::active)
+                .description("Database admission permits in use")
+                .register(meterRegistry);
+        Gauge.builder("customer.db.admission.waiting", waiting, AtomicInteger::get)
+                .description("Callers waiting for a database admission permit")
+                .register(meterRegistry);
+    }
+
+    public void acquire() {
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiting) {
+            waiting.decrementAndGet();
+            rejected.increment();
+            throw new AdmissionRejectedException("more than " + maxWaiting + " callers waiting");
+        }
+        long started = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new AdmissionRejectedException("no permit within " + Duration.ofNanos(acquireTimeoutNanos));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            rejected.increment();
+            throw new AdmissionRejectedException("interrupted while waiting");
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int active() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    public int waiting() {
+        return waiting.get();
+    }
+}
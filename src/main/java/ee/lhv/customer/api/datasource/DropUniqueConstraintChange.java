@@ -0,0 +1,71 @@
+package ee.lhv.customer.api.datasource;
+
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.DatabaseException;
+import liquibase.exception.SetupException;
+import liquibase.exception.ValidationErrors;
+import liquibase.change.custom.CustomSqlChange;
+import liquibase.resource.ResourceAccessor;
+import liquibase.statement.SqlStatement;
+import liquibase.statement.core.RawSqlStatement;
+import lombok.Setter;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Setter
+public class DropUniqueConstraintChange implements CustomSqlChange {
+
+    private static final String FIND_UNIQUE_CONSTRAINTS =
+            "SELECT tc.constraint_name FROM information_schema.table_constraints tc "
+            + "JOIN information_schema.key_column_usage kcu ON kcu.constraint_schema = tc.constraint_schema "
+            + "AND kcu.constraint_name = tc.constraint_name "
+            + "WHERE tc.table_schema = SCHEMA() AND tc.table_name = ? AND tc.constraint_type = 'UNIQUE' "
+            + "GROUP BY tc.constraint_name HAVING COUNT(*) = 1 AND MAX(kcu.column_name) = ?";
+
+    private String tableName;
+    private String columnName;
+
+    @Override
+    public SqlStatement[] generateStatements(Database database) throws CustomChangeException {
+        List<SqlStatement> statements = new ArrayList<>();
+        try (PreparedStatement statement = ((JdbcConnection) database.getConnection()).prepareStatement(
+                FIND_UNIQUE_CONSTRAINTS)) {
+            statement.setString(1, tableName.toUpperCase(Locale.ROOT));
+            statement.setString(2, columnName.toUpperCase(Locale.ROOT));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    statements.add(new RawSqlStatement(
+                            "ALTER TABLE " + tableName + " DROP CONSTRAINT \"" + rs.getString(1) + "\""));
+                }
+            }
+        } catch (DatabaseException | SQLException e) {
+            throw new CustomChangeException("Cannot look up unique constraints on " + tableName, e);
+        }
+        return statements.toArray(SqlStatement[]::new);
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Unique constraint on " + tableName + "." + columnName + " dropped";
+    }
+
+    @Override
+    public void setUp() throws SetupException {
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        return new ValidationErrors();
+    }
+}
@@ -0,0 +1,94 @@
+package ee.lhv.customer.api.datasource;
+
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Configuration
+@ConditionalOnProperty(prefix = "customer-api.liquibase", name = "skip-when-current", havingValue = "true")
+@Slf4j
+public class LiquibaseFingerprintConfiguration {
+
+    private static final String CHANGELOG_PATTERN = "classpath*:db/changelog/**/*.xml";
+
+    private static final String CREATE_TABLE =
+            "CREATE TABLE IF NOT EXISTS customer_api_schema_fingerprint (fingerprint VARCHAR(64) NOT NULL)";
+
+    @Bean
+    static BeanPostProcessor liquibaseFingerprintPostProcessor() {
+        Set<String> skipped = ConcurrentHashMap.newKeySet();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof SpringLiquibase liquibase && fingerprint().equals(storedFingerprint(liquibase))) {
+                    log.info("Database schema matches the changelog, skipping Liquibase");
+                    liquibase.setShouldRun(false);
+                    skipped.add(beanName);
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof SpringLiquibase liquibase && !skipped.contains(beanName)) {
+                    JdbcTemplate jdbcTemplate = new JdbcTemplate(liquibase.getDataSource());
+                    jdbcTemplate.execute(CREATE_TABLE);
+                    jdbcTemplate.update("DELETE FROM customer_api_schema_fingerprint");
+                    jdbcTemplate.update("INSERT INTO customer_api_schema_fingerprint (fingerprint) VALUES (?)",
+                            fingerprint());
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static String storedFingerprint(SpringLiquibase liquibase) {
+        try {
+            List<String> stored = new JdbcTemplate(liquibase.getDataSource())
+                    .queryForList("SELECT fingerprint FROM customer_api_schema_fingerprint", String.class);
+            return stored.isEmpty() ? null : stored.get(0);
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    static String fingerprint() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Resource[] changelogs = new PathMatchingResourcePatternResolver().getResources(CHANGELOG_PATTERN);
+            Arrays.sort(changelogs, Comparator.comparing(Resource::getFilename));
+            for (Resource changelog : changelogs) {
+                digest.update(changelog.getFilename().getBytes());
+                try (InputStream in = new DigestInputStream(changelog.getInputStream(), digest)) {
+                    in.transferTo(OutputStream.nullOutputStream());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
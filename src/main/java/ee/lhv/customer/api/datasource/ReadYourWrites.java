@@ -0,0 +1,35 @@
+package ee.lhv.customer.api.datasource;
+
+import java.util.function.Supplier;
+
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    public static boolean isPrimaryRequired() {
+        return PRIMARY_REQUIRED.get() != null;
+    }
+
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (isPrimaryRequired()) {
+            return action.get();
+        }
+        requirePrimary();
+        try {
+            return action.get();
+        } finally {
+            clear();
+        }
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
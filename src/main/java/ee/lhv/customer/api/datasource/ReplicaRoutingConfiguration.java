@@ -0,0 +1,86 @@
+package ee.lhv.customer.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import ee.lhv.customer.api.config.ReplicaProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "customer-api.replicas", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReplicaRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @Primary
+    ReplicaRoutingDataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                        ReplicaProperties properties, LiquibaseProperties liquibaseProperties,
+                                        ResourceLoader resourceLoader, MeterRegistry meterRegistry) throws Exception {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Node node : properties.getNodes()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("customer-api-replica-" + replicas.size());
+            replica.setJdbcUrl(node.getUrl());
+            replica.setUsername(node.getUsername());
+            replica.setPassword(node.getPassword());
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            if (properties.isInitializeSchema()) {
+                initializeSchema(node, liquibaseProperties, resourceLoader);
+            }
+            replicas.add(replica);
+        }
+        log.info("Routing read-only transactions to {} replicas", replicas.size());
+        ReplicaRoutingDataSource dataSource =
+                new ReplicaRoutingDataSource(primary, replicas, properties.getHealthCheckInterval());
+        Gauge.builder("customer.db.replicas.healthy", dataSource.getReplicaPool(), ReplicaPool::healthyReplicas)
+                .description("Replicas currently receiving read-only transactions")
+                .register(meterRegistry);
+        return dataSource;
+    }
+
+    private static void initializeSchema(ReplicaProperties.Node node, LiquibaseProperties liquibaseProperties,
+                                         ResourceLoader resourceLoader) throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(new SimpleDriverDataSource(
+                DriverManager.getDriver(node.getUrl()), node.getUrl(), node.getUsername(), node.getPassword()));
+        liquibase.setChangeLog(liquibaseProperties.getChangeLog());
+        liquibase.setResourceLoader(resourceLoader);
+        liquibase.afterPropertiesSet();
+    }
+
+    @Bean
+    FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReplicaProperties properties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration = new FilterRegistrationBean<>(
+                new ReadYourWritesFilter(properties.getReadYourWritesWindow(),
+                        properties.getReadYourWritesMaximumClients(), properties.getClientIdHeader()));
+        registration.setEnabled(!properties.getReadYourWritesWindow().isZero());
+        return registration;
+    }
+}
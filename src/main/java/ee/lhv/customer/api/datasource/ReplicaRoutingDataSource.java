@@ -0,0 +1,43 @@
+package ee.lhv.customer.api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+    private final ReplicaPool replicaPool;
+    private final List<HikariDataSource> replicas;
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration healthCheckInterval) {
+        super(primary);
+        this.replicaPool = new ReplicaPool(primary, replicas);
+        this.replicas = replicas;
+        setReadOnlyDataSource(replicaPool);
+        long intervalMillis = healthCheckInterval.toMillis();
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("customer-replica-health")
+                .daemon(true)
+                .factory());
+        healthChecker.scheduleWithFixedDelay(replicaPool::checkHealth, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public ReplicaPool getReplicaPool() {
+        return replicaPool;
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,24 @@
+package ee.lhv.customer.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBatchOperation {
+
+    public enum Action {
+        CREATE, UPDATE, DELETE
+    }
+
+    private Action action = Action.CREATE;
+    private Long id;
+    private CustomerRequest customer;
+    private Long version;
+
+    public CustomerBatchOperation(Action action, Long id, CustomerRequest customer) {
+        this(action, id, customer, null);
+    }
+}
@@ -0,0 +1,17 @@
+package ee.lhv.customer.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBatchResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<CustomerBatchResult> results;
+}
@@ -0,0 +1,28 @@
+package ee.lhv.customer.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBatchResult {
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND, CONFLICT
+    }
+
+    private int index;
+    private Status status;
+    private Long id;
+    private String message;
+
+    public static CustomerBatchResult conflict(int index, Long id, String email) {
+        return new CustomerBatchResult(index, Status.CONFLICT, id, "Customer with email '" + email + "' already exists");
+    }
+
+    public static CustomerBatchResult notFound(int index, Long id) {
+        return new CustomerBatchResult(index, Status.NOT_FOUND, id, "Customer not found with id: " + id);
+    }
+}
@@ -0,0 +1,18 @@
+package ee.lhv.customer.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import ee.lhv.customer.api.event.CustomerChangedEvent.Type;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class CustomerChange {
+
+    long sequence;
+    Long customerId;
+    Type type;
+    @JsonRawValue
+    String customer;
+    LocalDateTime changedDtime;
+}
@@ -0,0 +1,40 @@
+package ee.lhv.customer.api.dto;
+
+import ee.lhv.customer.api.exception.InvalidFieldsException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@RequiredArgsConstructor
+public enum CustomerField {
+
+    ID("id", "id"),
+    FIRST_NAME("firstName", "first_name"),
+    LAST_NAME("lastName", "last_name"),
+    EMAIL("email", "email"),
+    CREATED_DTIME("createdDtime", "created_dtime"),
+    MODIFIED_DTIME("modifiedDtime", "modified_dtime"),
+    VERSION("version", "version");
+
+    private final String property;
+    private final String column;
+
+    public static Set<CustomerField> parse(String fields) {
+        Set<CustomerField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String property = name.trim();
+            if (property.isEmpty()) {
+                continue;
+            }
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidFieldsException(property)));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,56 @@
+package ee.lhv.customer.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ee.lhv.customer.api.job.CustomerJob;
+import lombok.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Value
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CustomerJobResponse {
+
+    String id;
+    CustomerJob.Type type;
+    CustomerJob.Format format;
+    boolean compressed;
+    CustomerJob.Status status;
+    long checkpoint;
+    long rowsProcessed;
+    long rowsWritten;
+    long rowsDuplicate;
+    long rowsInvalid;
+    Long rowsPerSecond;
+    String error;
+    LocalDateTime createdDtime;
+    LocalDateTime startedDtime;
+    LocalDateTime modifiedDtime;
+
+    public CustomerJobResponse(CustomerJob job) {
+        this.id = job.getId();
+        this.type = job.getType();
+        this.format = job.getFormat();
+        this.compressed = job.isCompressed();
+        this.status = job.getStatus();
+        this.checkpoint = job.getCheckpoint();
+        this.rowsProcessed = job.getRowsProcessed();
+        this.rowsWritten = job.getRowsWritten();
+        this.rowsDuplicate = job.getRowsDuplicate();
+        this.rowsInvalid = job.getRowsInvalid();
+        this.rowsPerSecond = rowsPerSecond(job);
+        this.error = job.getError();
+        this.createdDtime = job.getCreatedDtime();
+        this.startedDtime = job.getStartedDtime();
+        this.modifiedDtime = job.getModifiedDtime();
+    }
+
+    private static Long rowsPerSecond(CustomerJob job) {
+        if (job.getStartedDtime() == null) {
+            return null;
+        }
+        LocalDateTime end = job.getStatus() == CustomerJob.Status.RUNNING ? LocalDateTime.now() : job.getModifiedDtime();
+        long millis = Math.max(1, Duration.between(job.getStartedDtime(), end).toMillis());
+        return (job.getRowsProcessed() - job.getRowsAtStart()) * 1000 / millis;
+    }
+}
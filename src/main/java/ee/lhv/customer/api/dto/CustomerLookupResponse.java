@@ -0,0 +1,12 @@
+package ee.lhv.customer.api.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class CustomerLookupResponse {
+
+    List<CustomerResponse> customers;
+    List<Long> missing;
+}
@@ -1,30 +1,43 @@
 package ee.lhv.customer.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import ee.lhv.customer.api.entity.Customer;
 import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
-@Data
-@NoArgsConstructor
+@Value
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class CustomerResponse {
     
-    private Long id;
-    private String firstName;
-    private String lastName;
-    private String email;
-    private LocalDateTime createdDtime;
-    private LocalDateTime modifiedDtime;
+    Long id;
+    String firstName;
+    String lastName;
+    String email;
+    LocalDateTime createdDtime;
+    LocalDateTime modifiedDtime;
+    Long version;
 
     public CustomerResponse(Customer customer) {
-        this.id = customer.getId();
-        this.firstName = customer.getFirstName();
-        this.lastName = customer.getLastName();
-        this.email = customer.getEmail();
-        this.createdDtime = customer.getCreatedDtime();
-        this.modifiedDtime = customer.getModifiedDtime();
+        this(customer.getId(),
+            customer.getFirstName(),
+            customer.getLastName(),
+            customer.getEmail(),
+            customer.getCreatedDtime(),
+            customer.getModifiedDtime(),
+            customer.getVersion());
     }
-}
\ No newline at end of file
+
+    public CustomerResponse project(Set<CustomerField> fields) {
+        return new CustomerResponse(id,
+            fields.contains(CustomerField.FIRST_NAME) ? firstName : null,
+            fields.contains(CustomerField.LAST_NAME) ? lastName : null,
+            fields.contains(CustomerField.EMAIL) ? email : null,
+            fields.contains(CustomerField.CREATED_DTIME) ? createdDtime : null,
+            fields.contains(CustomerField.MODIFIED_DTIME) ? modifiedDtime : null,
+            fields.contains(CustomerField.VERSION) ? version : null);
+    }
+}
@@ -0,0 +1,16 @@
+package ee.lhv.customer.api.dto;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Value
+public class CustomerStatsResponse {
+
+    long total;
+    Map<LocalDate, Long> signUpsPerDay;
+    Map<String, Long> customersPerDomain;
+    LocalDateTime reconciledDtime;
+}
@@ -0,0 +1,10 @@
+package ee.lhv.customer.api.dto;
+
+import lombok.Value;
+
+@Value
+public class CustomerUpdateAccepted {
+
+    Long id;
+    Long version;
+}
@@ -7,19 +7,22 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "customers")
+@SQLRestriction("deleted_dtime IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Customer {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customers_seq")
+    @SequenceGenerator(name = "customers_seq", sequenceName = "customers_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "First name is required")
@@ -43,6 +46,10 @@ public class Customer {
     @Column(name = "modified_dtime", nullable = false)
     private LocalDateTime modifiedDtime;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     public Customer(String firstName, String lastName, String email) {
         this.firstName = firstName;
         this.lastName = lastName;
@@ -0,0 +1,37 @@
+package ee.lhv.customer.api.event;
+
+import ee.lhv.customer.api.dto.CustomerResponse;
+import lombok.Value;
+
+@Value
+public class CustomerChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    Type type;
+    Long customerId;
+    CustomerResponse customer;
+    CustomerResponse previous;
+
+    public static CustomerChangedEvent created(CustomerResponse customer) {
+        return new CustomerChangedEvent(Type.CREATED, customer.getId(), customer, null);
+    }
+
+    public static CustomerChangedEvent updated(CustomerResponse customer) {
+        return new CustomerChangedEvent(Type.UPDATED, customer.getId(), customer, null);
+    }
+
+    public static CustomerChangedEvent updated(CustomerResponse customer, CustomerResponse previous) {
+        return new CustomerChangedEvent(Type.UPDATED, customer.getId(), customer, previous);
+    }
+
+    public static CustomerChangedEvent deleted(Long customerId) {
+        return new CustomerChangedEvent(Type.DELETED, customerId, null, null);
+    }
+
+    public static CustomerChangedEvent deleted(CustomerResponse previous) {
+        return new CustomerChangedEvent(Type.DELETED, previous.getId(), null, previous);
+    }
+}
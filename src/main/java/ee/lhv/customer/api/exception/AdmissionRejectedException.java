@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class AdmissionRejectedException extends RuntimeException {
+
+    public AdmissionRejectedException(String reason) {
+        super("Database capacity exhausted: " + reason);
+    }
+}
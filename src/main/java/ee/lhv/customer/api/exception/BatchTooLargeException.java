@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class BatchTooLargeException extends RuntimeException {
+
+    public BatchTooLargeException(int size, int maxSize) {
+        super("Batch contains " + size + " operations, maximum is " + maxSize);
+    }
+}
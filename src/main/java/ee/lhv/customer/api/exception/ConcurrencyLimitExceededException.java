@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(int limit) {
+        super("Concurrency limit of " + limit + " in-flight requests reached", null, false, false);
+    }
+}
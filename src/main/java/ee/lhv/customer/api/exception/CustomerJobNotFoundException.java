@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class CustomerJobNotFoundException extends RuntimeException {
+
+    public CustomerJobNotFoundException(String id) {
+        super("Customer job not found with id: " + id, null, false, false);
+    }
+}
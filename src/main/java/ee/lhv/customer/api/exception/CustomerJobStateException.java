@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class CustomerJobStateException extends RuntimeException {
+
+    public CustomerJobStateException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -3,6 +3,10 @@ package ee.lhv.customer.api.exception;
 public class CustomerNotFoundException extends RuntimeException {
 
     public CustomerNotFoundException(Long id) {
-        super("Customer not found with id: " + id);
+        super(message(id), null, false, false);
     }
-}
\ No newline at end of file
+
+    public static String message(Long id) {
+        return "Customer not found with id: " + id;
+    }
+}
@@ -3,6 +3,6 @@ package ee.lhv.customer.api.exception;
 public class EmailAlreadyExistsException extends RuntimeException {
     
     public EmailAlreadyExistsException(String email) {
-        super("Customer with email '" + email + "' already exists");
+        super("Customer with email '" + email + "' already exists", null, false, false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package ee.lhv.customer.api.exception;
+
+import ee.lhv.customer.api.logging.LogSampler;
+import ee.lhv.customer.api.metrics.ErrorMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ErrorResponseFactory {
+
+    private static final Duration LOG_SAMPLE_INTERVAL = Duration.ofSeconds(1);
+
+    private final LogSampler notFoundLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler conflictLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+
+    private final ErrorMetrics errorMetrics;
+
+    public ResponseEntity<ErrorResponse> customerNotFound(Long id) {
+        return customerNotFound(CustomerNotFoundException.message(id));
+    }
+
+    public ResponseEntity<ErrorResponse> customerNotFound(String message) {
+        notFoundLogSampler.log(log, Level.WARN, "Customer not found: {}", message);
+        errorMetrics.increment(HttpStatus.NOT_FOUND, "CUSTOMER_NOT_FOUND");
+        ErrorResponse error = new ErrorResponse("CUSTOMER_NOT_FOUND", message, LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    public ResponseEntity<ErrorResponse> emailAlreadyExists(String message) {
+        conflictLogSampler.log(log, Level.WARN, "Email already exists: {}", message);
+        errorMetrics.increment(HttpStatus.CONFLICT, "EMAIL_ALREADY_EXISTS");
+        ErrorResponse error = new ErrorResponse("EMAIL_ALREADY_EXISTS", message, LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+}
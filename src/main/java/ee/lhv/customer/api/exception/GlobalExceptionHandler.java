@@ -1,36 +1,149 @@
 package ee.lhv.customer.api.exception;
 
+import ee.lhv.customer.api.logging.LogSampler;
+import ee.lhv.customer.api.metrics.ErrorMetrics;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
 @ControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private static final Duration LOG_SAMPLE_INTERVAL = Duration.ofSeconds(1);
+
+    private final LogSampler validationLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler preconditionLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler batchLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler dataIntegrityLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler rateLimitLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler unavailableLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler jobLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler idempotencyLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+    private final LogSampler unexpectedLogSampler = new LogSampler(LOG_SAMPLE_INTERVAL);
+
+    private final ErrorResponseFactory errorResponseFactory;
+    private final ErrorMetrics errorMetrics;
+
     @ExceptionHandler(CustomerNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleCustomerNotFound(CustomerNotFoundException ex) {
-        log.error("Customer not found: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse("CUSTOMER_NOT_FOUND", ex.getMessage(), LocalDateTime.now());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        return errorResponseFactory.customerNotFound(ex.getMessage());
     }
 
     @ExceptionHandler(EmailAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleEmailAlreadyExists(EmailAlreadyExistsException ex) {
-        log.error("Email already exists: {}", ex.getMessage());
-        ErrorResponse error = new ErrorResponse("EMAIL_ALREADY_EXISTS", ex.getMessage(), LocalDateTime.now());
+        return errorResponseFactory.emailAlreadyExists(ex.getMessage());
+    }
+
+    @ExceptionHandler({PreconditionFailedException.class, ObjectOptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handlePreconditionFailed(RuntimeException ex) {
+        preconditionLogSampler.log(log, Level.WARN, "Precondition failed: {}", ex.getMessage());
+        errorMetrics.increment(HttpStatus.PRECONDITION_FAILED, "PRECONDITION_FAILED");
+        ErrorResponse error = new ErrorResponse("PRECONDITION_FAILED", ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleBatchTooLarge(BatchTooLargeException ex) {
+        batchLogSampler.log(log, Level.ERROR, "Batch rejected: {}", ex.getMessage());
+        errorMetrics.increment(HttpStatus.PAYLOAD_TOO_LARGE, "BATCH_TOO_LARGE");
+        ErrorResponse error = new ErrorResponse("BATCH_TOO_LARGE", ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFields(InvalidFieldsException ex) {
+        validationLogSampler.log(log, Level.WARN, "Invalid fields: {}", ex.getMessage());
+        errorMetrics.increment(HttpStatus.BAD_REQUEST, "INVALID_FIELDS");
+        ErrorResponse error = new ErrorResponse("INVALID_FIELDS", ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(CustomerJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleCustomerJobNotFound(CustomerJobNotFoundException ex) {
+        return jobError(HttpStatus.NOT_FOUND, "JOB_NOT_FOUND", ex);
+    }
+
+    @ExceptionHandler(CustomerJobStateException.class)
+    public ResponseEntity<ErrorResponse> handleCustomerJobState(CustomerJobStateException ex) {
+        return jobError(HttpStatus.CONFLICT, "JOB_STATE_CONFLICT", ex);
+    }
+
+    @ExceptionHandler(InvalidJobRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidJobRequest(InvalidJobRequestException ex) {
+        return jobError(HttpStatus.BAD_REQUEST, "INVALID_JOB", ex);
+    }
+
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        return idempotencyError(HttpStatus.BAD_REQUEST, "INVALID_IDEMPOTENCY_KEY", ex);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return idempotencyError(HttpStatus.UNPROCESSABLE_ENTITY, "IDEMPOTENCY_KEY_REUSED", ex);
+    }
+
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException ex) {
+        return idempotencyError(HttpStatus.CONFLICT, "IDEMPOTENCY_KEY_IN_PROGRESS", ex);
+    }
+
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        dataIntegrityLogSampler.log(log, Level.ERROR, "Data integrity violation: {}",
+                ex.getMostSpecificCause().getMessage());
+        errorMetrics.increment(HttpStatus.CONFLICT, "DATA_INTEGRITY_VIOLATION");
+        ErrorResponse error = new ErrorResponse("DATA_INTEGRITY_VIOLATION",
+                "Request conflicts with existing customer data", LocalDateTime.now());
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+        rateLimitLogSampler.log(log, Level.WARN, "Rate limit exceeded for client {}", ex.getClientFingerprint());
+        errorMetrics.increment(HttpStatus.TOO_MANY_REQUESTS, "RATE_LIMITED");
+        ErrorResponse error = new ErrorResponse("RATE_LIMITED", ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    @ExceptionHandler({AdmissionRejectedException.class, ConcurrencyLimitExceededException.class,
+            WriteBehindQueueFullException.class, CannotCreateTransactionException.class,
+            DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(Exception ex) {
+        unavailableLogSampler.log(log, Level.ERROR, "Service unavailable: {}",
+                NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+        errorMetrics.increment(HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE");
+        ErrorResponse error = new ErrorResponse("SERVICE_UNAVAILABLE",
+                "Service is temporarily overloaded, retry later", LocalDateTime.now());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleExceptions(Exception ex) {
+        unexpectedLogSampler.log(log, Level.ERROR, "Unexpected error", ex);
+        errorMetrics.increment(HttpStatus.INTERNAL_SERVER_ERROR, "INTERNAL_ERROR");
         return ResponseEntity
                 .status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(Map.of("message", ex.getMessage()));
@@ -38,7 +151,8 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex) {
-        log.error("Validation failed: {}", ex.getMessage());
+        validationLogSampler.log(log, Level.WARN, "Validation failed: {}", ex.getMessage());
+        errorMetrics.increment(HttpStatus.BAD_REQUEST, "VALIDATION_FAILED");
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach(error -> {
             String fieldName = ((FieldError) error).getField();
@@ -48,4 +162,19 @@ public class GlobalExceptionHandler {
         ValidationErrorResponse response = new ValidationErrorResponse("Validation failed", errors, LocalDateTime.now());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
     }
+
+    private ResponseEntity<ErrorResponse> jobError(HttpStatus status, String code, RuntimeException ex) {
+        jobLogSampler.log(log, Level.WARN, "Customer job request rejected: {}", ex.getMessage());
+        errorMetrics.increment(status, code);
+        ErrorResponse error = new ErrorResponse(code, ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(status).body(error);
+    }
+
+    private ResponseEntity<ErrorResponse> idempotencyError(HttpStatus status, String code, RuntimeException ex) {
+        idempotencyLogSampler.log(log, Level.WARN, "Idempotent request rejected: {}", ex.getMessage());
+        errorMetrics.increment(status, code);
+        ErrorResponse error = new ErrorResponse(code, ex.getMessage(), LocalDateTime.now());
+        return ResponseEntity.status(status).body(error);
+    }
+
 }
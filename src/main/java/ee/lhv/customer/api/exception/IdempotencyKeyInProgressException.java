@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String key) {
+        super("A request with Idempotency-Key " + key + " is still in progress", null, false, false);
+    }
+}
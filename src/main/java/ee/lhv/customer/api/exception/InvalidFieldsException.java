@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String field) {
+        super("Unknown customer field '" + field + "'");
+    }
+}
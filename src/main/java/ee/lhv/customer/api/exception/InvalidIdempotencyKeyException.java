@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+
+    public InvalidIdempotencyKeyException(String message) {
+        super(message, null, false, false);
+    }
+}
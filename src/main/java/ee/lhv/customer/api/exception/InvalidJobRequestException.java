@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class InvalidJobRequestException extends RuntimeException {
+
+    public InvalidJobRequestException(String message) {
+        super(message, null, false, false);
+    }
+}
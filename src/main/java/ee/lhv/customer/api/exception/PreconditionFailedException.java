@@ -0,0 +1,12 @@
+package ee.lhv.customer.api.exception;
+
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(Long id, Long expectedVersion, Long currentVersion) {
+        this("Customer " + id + " is at version " + currentVersion + ", expected " + expectedVersion);
+    }
+
+    public PreconditionFailedException(String message) {
+        super(message, null, false, false);
+    }
+}
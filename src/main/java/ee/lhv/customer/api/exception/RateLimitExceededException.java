@@ -0,0 +1,16 @@
+package ee.lhv.customer.api.exception;
+
+import lombok.Getter;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String clientFingerprint;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String clientFingerprint, long retryAfterSeconds) {
+        super("Rate limit exceeded, retry after " + retryAfterSeconds + " seconds", null, false, false);
+        this.clientFingerprint = clientFingerprint;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,8 @@
+package ee.lhv.customer.api.exception;
+
+public class WriteBehindQueueFullException extends RuntimeException {
+
+    public WriteBehindQueueFullException(int maxPending) {
+        super("Write-behind queue is full with " + maxPending + " pending customers", null, false, false);
+    }
+}
@@ -0,0 +1,92 @@
+package ee.lhv.customer.api.format;
+
+import ee.lhv.customer.api.cache.CustomerJsonCache;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+public class CustomerJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final CustomerJsonCache customerJsonCache;
+
+    public CustomerJsonHttpMessageConverter(CustomerJsonCache customerJsonCache) {
+        super(MediaType.APPLICATION_JSON);
+        this.customerJsonCache = customerJsonCache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == CustomerResponse.class;
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return canWrite(mediaType) && (clazz == CustomerResponse.class || isCustomerList(type));
+    }
+
+    @Override
+    protected Long getContentLength(Object value, MediaType contentType) {
+        if (value instanceof CustomerResponse customer) {
+            return (long) customerJsonCache.json(customer).length;
+        }
+        long length = 2;
+        List<?> customers = (List<?>) value;
+        for (int i = 0; i < customers.size(); i++) {
+            length += customerJsonCache.json((CustomerResponse) customers.get(i)).length + (i == 0 ? 0 : 1);
+        }
+        return length;
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        if (value instanceof CustomerResponse customer) {
+            out.write(customerJsonCache.json(customer));
+            return;
+        }
+        List<?> customers = (List<?>) value;
+        out.write('[');
+        for (int i = 0; i < customers.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(customerJsonCache.json((CustomerResponse) customers.get(i)));
+        }
+        out.write(']');
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Customer JSON converter is write-only", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Customer JSON converter is write-only", inputMessage);
+    }
+
+    private static boolean isCustomerList(Type type) {
+        return type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw && List.class.isAssignableFrom(raw)
+                && parameterized.getActualTypeArguments()[0] == CustomerResponse.class;
+    }
+}
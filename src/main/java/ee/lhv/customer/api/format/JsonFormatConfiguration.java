@@ -0,0 +1,23 @@
+package ee.lhv.customer.api.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.cache.CustomerJsonCache;
+import ee.lhv.customer.api.config.JsonCacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "customer-api.json-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JsonFormatConfiguration {
+
+    @Bean
+    CustomerJsonCache customerJsonCache(JsonCacheProperties properties, ObjectMapper objectMapper) {
+        return new CustomerJsonCache(properties, objectMapper);
+    }
+
+    @Bean
+    CustomerJsonHttpMessageConverter customerJsonHttpMessageConverter(CustomerJsonCache customerJsonCache) {
+        return new CustomerJsonHttpMessageConverter(customerJsonCache);
+    }
+}
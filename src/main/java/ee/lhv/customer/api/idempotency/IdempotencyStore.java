@@ -0,0 +1,249 @@
+package ee.lhv.customer.api.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ee.lhv.customer.api.config.IdempotencyProperties;
+import ee.lhv.customer.api.exception.IdempotencyKeyInProgressException;
+import ee.lhv.customer.api.exception.IdempotencyKeyReusedException;
+import ee.lhv.customer.api.exception.InvalidIdempotencyKeyException;
+import ee.lhv.customer.api.repository.IdempotencyKeyRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class IdempotencyStore implements SmartLifecycle, MeterBinder {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Entry> entries;
+    private volatile Counter replays;
+    private volatile ScheduledExecutorService cleanupExecutor;
+
+    public IdempotencyStore(IdempotencyProperties properties, IdempotencyKeyRepository idempotencyKeyRepository,
+                            TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+
+    public ResponseEntity<?> execute(String key, HttpServletRequest servletRequest, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key.isBlank() || key.length() > properties.getMaxKeyLength()) {
+            throw new InvalidIdempotencyKeyException(
+                    IDEMPOTENCY_KEY + " must be 1 to " + properties.getMaxKeyLength() + " characters");
+        }
+        String client = servletRequest.getHeader(properties.getClientIdHeader());
+        String scope = sha256((client == null ? "" : client) + " " + servletRequest.getMethod() + " "
+                + servletRequest.getRequestURI() + " " + key);
+        String fingerprint = fingerprint(request);
+
+        Entry entry = new Entry(fingerprint);
+        Entry existing = entries.asMap().putIfAbsent(scope, entry);
+        if (existing != null) {
+            if (!existing.fingerprint.equals(fingerprint)) {
+                throw new IdempotencyKeyReusedException(key);
+            }
+            return replay(await(existing, key));
+        }
+
+        try {
+            Optional<IdempotentResponse> stored = properties.isPersistent()
+                    ? idempotencyKeyRepository.findById(scope, LocalDateTime.now().minus(properties.getTtl()))
+                    : Optional.empty();
+            if (stored.isPresent()) {
+                entry.result.complete(stored.get());
+                return replay(checked(stored.get(), fingerprint, key));
+            }
+            ResponseEntity<?> response;
+            if (properties.isPersistent()) {
+                response = transactionTemplate.execute(status -> {
+                    ResponseEntity<?> result = action.get();
+                    IdempotentResponse completed = store(fingerprint, result);
+                    idempotencyKeyRepository.insert(scope, completed);
+                    entry.committing = completed;
+                    return result;
+                });
+                entry.result.complete(entry.committing);
+            } else {
+                response = action.get();
+                entry.result.complete(store(fingerprint, response));
+            }
+            return response;
+        } catch (DuplicateKeyException e) {
+            IdempotentResponse stored;
+            try {
+                stored = idempotencyKeyRepository
+                        .findById(scope, LocalDateTime.now().minus(properties.getTtl()))
+                        .orElseThrow(() -> e);
+            } catch (RuntimeException failure) {
+                abandon(scope, entry, failure);
+                throw failure;
+            }
+            entry.result.obtrudeValue(stored);
+            return replay(checked(stored, fingerprint, key));
+        } catch (RuntimeException e) {
+            abandon(scope, entry, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        replays = Counter.builder("customer.api.idempotency.replays")
+                .description("Requests answered with the stored response of an earlier request with the same key")
+                .register(registry);
+        CaffeineCacheMetrics.monitor(registry, entries, "idempotency-keys");
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isPersistent()) {
+            return;
+        }
+        long intervalMillis = properties.getCleanupInterval().toMillis();
+        cleanupExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("idempotency-key-cleanup")
+                .daemon(true)
+                .factory());
+        cleanupExecutor.scheduleWithFixedDelay(this::cleanupSafely, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (cleanupExecutor != null) {
+            cleanupExecutor.shutdownNow();
+            cleanupExecutor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return cleanupExecutor != null;
+    }
+
+    private void cleanupSafely() {
+        try {
+            int deleted = idempotencyKeyRepository.deleteOlderThan(LocalDateTime.now().minus(properties.getTtl()));
+            if (deleted > 0) {
+                log.info("Removed {} expired idempotency keys", deleted);
+            }
+        } catch (RuntimeException e) {
+            log.error("Idempotency key cleanup failed", e);
+        }
+    }
+
+    private void abandon(String scope, Entry entry, RuntimeException failure) {
+        entries.asMap().remove(scope, entry);
+        entry.result.obtrudeException(failure);
+    }
+
+    private IdempotentResponse await(Entry entry, String key) {
+        try {
+            return entry.result.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyKeyInProgressException(key);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Idempotent request failed", e.getCause());
+        }
+    }
+
+    private ResponseEntity<String> replay(IdempotentResponse response) {
+        if (replays != null) {
+            replays.increment();
+        }
+        return ResponseEntity.status(response.getStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(IDEMPOTENT_REPLAYED, "true")
+                .body(response.getBody());
+    }
+
+    private IdempotentResponse store(String fingerprint, ResponseEntity<?> response) {
+        try {
+            return new IdempotentResponse(fingerprint, response.getStatusCode().value(),
+                    objectMapper.writeValueAsString(response.getBody()));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            return sha256(objectMapper.writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static IdempotentResponse checked(IdempotentResponse response, String fingerprint, String key) {
+        if (!response.getFingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        return response;
+    }
+
+    private static final class Entry {
+
+        private final String fingerprint;
+        private final CompletableFuture<IdempotentResponse> result = new CompletableFuture<>();
+        private IdempotentResponse committing;
+
+        private Entry(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
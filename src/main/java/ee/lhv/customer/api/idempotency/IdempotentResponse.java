@@ -0,0 +1,11 @@
+package ee.lhv.customer.api.idempotency;
+
+import lombok.Value;
+
+@Value
+public class IdempotentResponse {
+
+    String fingerprint;
+    int status;
+    String body;
+}
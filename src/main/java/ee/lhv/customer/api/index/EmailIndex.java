@@ -0,0 +1,65 @@
+package ee.lhv.customer.api.index;
+
+import ee.lhv.customer.api.config.EmailIndexProperties;
+import ee.lhv.customer.api.repository.CustomerJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class EmailIndex {
+
+    private final CustomerJdbcRepository customerJdbcRepository;
+    private final EmailBloomFilter filter;
+    private volatile boolean ready;
+
+    public EmailIndex(EmailIndexProperties properties, CustomerJdbcRepository customerJdbcRepository) {
+        this.customerJdbcRepository = customerJdbcRepository;
+        this.filter = properties.isEnabled()
+                ? new EmailBloomFilter(properties.getExpectedInsertions(), properties.getFalsePositiveProbability())
+                : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildInBackground() {
+        if (filter == null) {
+            return;
+        }
+        Thread.ofVirtual().name("email-index-build").start(() -> {
+            try {
+                build();
+            } catch (RuntimeException e) {
+                log.warn("Email index build failed, falling back to database lookups", e);
+            }
+        });
+    }
+
+    public void build() {
+        if (filter == null || ready) {
+            return;
+        }
+        long started = System.nanoTime();
+        AtomicLong count = new AtomicLong();
+        customerJdbcRepository.forEachEmail(email -> {
+            filter.add(email);
+            count.incrementAndGet();
+        });
+        ready = true;
+        log.info("Email index built with {} emails ({} bytes) in {} ms",
+                count.get(), filter.sizeInBytes(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean mightContain(String email) {
+        return !ready || filter.mightContain(email);
+    }
+
+    public void add(String email) {
+        if (filter != null) {
+            filter.add(email);
+        }
+    }
+}
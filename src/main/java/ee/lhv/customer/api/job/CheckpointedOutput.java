@@ -0,0 +1,79 @@
+package ee.lhv.customer.api.job;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+final class CheckpointedOutput implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final OutputStream buffered;
+    private final boolean compressed;
+    private final boolean empty;
+    private Writer writer;
+
+    CheckpointedOutput(Path path, long position, boolean compressed) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(position);
+        channel.position(position);
+        this.buffered = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        this.compressed = compressed;
+        this.empty = position == 0;
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    void writeLine(String line) throws IOException {
+        if (writer == null) {
+            OutputStream member = new FilterOutputStream(buffered) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    compressed ? new GZIPOutputStream(member, BUFFER_SIZE) : member, StandardCharsets.UTF_8),
+                    BUFFER_SIZE);
+        }
+        writer.write(line);
+        writer.write('\n');
+    }
+
+    long checkpoint() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+        channel.force(false);
+        return channel.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            checkpoint();
+        } finally {
+            channel.close();
+        }
+    }
+}
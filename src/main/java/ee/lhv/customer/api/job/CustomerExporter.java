@@ -0,0 +1,89 @@
+package ee.lhv.customer.api.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.config.JobProperties;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.repository.CustomerJdbcRepository;
+import ee.lhv.customer.api.repository.CustomerJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerExporter {
+
+    static final String CSV_HEADER = "id,firstName,lastName,email,createdDtime,modifiedDtime,version";
+
+    private final CustomerJdbcRepository customerJdbcRepository;
+    private final CustomerJobRepository customerJobRepository;
+    private final ObjectMapper objectMapper;
+    private final JobProperties properties;
+
+    public void run(CustomerJob job, Path output, BooleanSupplier stopRequested) throws IOException {
+        try (CheckpointedOutput out = new CheckpointedOutput(output, job.getFilePosition(), job.isCompressed())) {
+            if (out.isEmpty() && job.getFormat() == CustomerJob.Format.CSV) {
+                out.writeLine(CSV_HEADER);
+            }
+            try {
+                customerJdbcRepository.forEachCustomerAfter(job.getCheckpoint(), customer -> {
+                    write(out, job.getFormat(), customer);
+                    job.setRowsProcessed(job.getRowsProcessed() + 1);
+                    job.setRowsWritten(job.getRowsWritten() + 1);
+                    job.setCheckpoint(customer.getId());
+                    if (job.getRowsProcessed() % properties.getBatchSize() == 0) {
+                        checkpoint(job, out, stopRequested);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            checkpoint(job, out, stopRequested);
+        }
+    }
+
+    private void checkpoint(CustomerJob job, CheckpointedOutput out, BooleanSupplier stopRequested) {
+        try {
+            job.setFilePosition(out.checkpoint());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        customerJobRepository.update(job);
+        log.debug("Export job {} checkpointed after id {}", job.getId(), job.getCheckpoint());
+        if (stopRequested.getAsBoolean()) {
+            throw new CancellationException("Export job " + job.getId() + " stopped after id " + job.getCheckpoint());
+        }
+    }
+
+    private void write(CheckpointedOutput out, CustomerJob.Format format, Customer customer) {
+        try {
+            out.writeLine(format == CustomerJob.Format.CSV ? csv(customer) : json(customer));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String json(Customer customer) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(new CustomerResponse(customer));
+    }
+
+    private static String csv(Customer customer) {
+        StringBuilder line = new StringBuilder(128).append(customer.getId());
+        CsvCodec.append(line, customer.getFirstName());
+        CsvCodec.append(line, customer.getLastName());
+        CsvCodec.append(line, customer.getEmail());
+        CsvCodec.append(line, String.valueOf(customer.getCreatedDtime()));
+        CsvCodec.append(line, String.valueOf(customer.getModifiedDtime()));
+        CsvCodec.append(line, String.valueOf(customer.getVersion()));
+        return line.toString();
+    }
+}
@@ -0,0 +1,220 @@
+package ee.lhv.customer.api.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.config.JobProperties;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import ee.lhv.customer.api.index.EmailIndex;
+import ee.lhv.customer.api.repository.CustomerJobRepository;
+import ee.lhv.customer.api.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerImporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CustomerRepository customerRepository;
+    private final CustomerJobRepository customerJobRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final EmailIndex emailIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final JobProperties properties;
+
+    public void run(CustomerJob job, Path input, Path rejects, BooleanSupplier stopRequested) throws IOException {
+        try (BufferedReader reader = open(input, job.isCompressed());
+             CheckpointedOutput rejected = new CheckpointedOutput(rejects, job.getFilePosition(), false)) {
+            Function<String, CustomerRequest> parser = parser(job.getFormat(), reader);
+            for (long skipped = 0; skipped < job.getCheckpoint(); skipped++) {
+                if (reader.readLine() == null) {
+                    break;
+                }
+            }
+
+            List<Row> batch = new ArrayList<>(properties.getBatchSize());
+            long line = job.getCheckpoint();
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                job.setRowsProcessed(job.getRowsProcessed() + 1);
+                CustomerRequest request;
+                try {
+                    request = parser.apply(text);
+                } catch (RuntimeException e) {
+                    reject(rejected, line, "Malformed row: " + e.getMessage(), text);
+                    job.setRowsInvalid(job.getRowsInvalid() + 1);
+                    continue;
+                }
+                String violation = validate(request);
+                if (violation != null) {
+                    reject(rejected, line, violation, text);
+                    job.setRowsInvalid(job.getRowsInvalid() + 1);
+                    continue;
+                }
+                batch.add(new Row(line, request, text));
+                if (batch.size() == properties.getBatchSize()) {
+                    commit(job, batch, line, rejected, stopRequested);
+                    batch.clear();
+                }
+            }
+            commit(job, batch, line, rejected, stopRequested);
+        }
+    }
+
+    private void commit(CustomerJob job, List<Row> batch, long line, CheckpointedOutput rejected,
+                        BooleanSupplier stopRequested) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<String> takenEmails = new HashSet<>(customerRepository.findExistingEmails(
+                    batch.stream().map(row -> row.request.getEmail()).collect(Collectors.toSet())));
+            Set<String> claimedEmails = new HashSet<>();
+            List<Customer> inserts = new ArrayList<>(batch.size());
+            for (Row row : batch) {
+                CustomerRequest request = row.request;
+                if (takenEmails.contains(request.getEmail()) || !claimedEmails.add(request.getEmail())) {
+                    reject(rejected, row.line, "Email already exists: " + request.getEmail(), row.text);
+                    job.setRowsDuplicate(job.getRowsDuplicate() + 1);
+                } else {
+                    inserts.add(new Customer(request.getFirstName(), request.getLastName(), request.getEmail()));
+                }
+            }
+
+            customerRepository.saveAll(inserts);
+            entityManager.flush();
+            entityManager.clear();
+            for (Customer customer : inserts) {
+                emailIndex.add(customer.getEmail());
+                eventPublisher.publishEvent(CustomerChangedEvent.created(new CustomerResponse(customer)));
+            }
+
+            job.setRowsWritten(job.getRowsWritten() + inserts.size());
+            job.setCheckpoint(line);
+            try {
+                job.setFilePosition(rejected.checkpoint());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            customerJobRepository.update(job);
+        });
+        log.debug("Import job {} committed up to line {}", job.getId(), line);
+        if (stopRequested.getAsBoolean()) {
+            throw new CancellationException("Import job " + job.getId() + " stopped at line " + line);
+        }
+    }
+
+    private Function<String, CustomerRequest> parser(CustomerJob.Format format, BufferedReader reader)
+            throws IOException {
+        if (format == CustomerJob.Format.NDJSON) {
+            return text -> {
+                try {
+                    return objectMapper.readValue(text, CustomerRequest.class);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalArgumentException(e.getOriginalMessage(), e);
+                }
+            };
+        }
+        String header = reader.readLine();
+        List<String> columns = header == null ? List.of() : CsvCodec.parse(header).stream()
+                .map(column -> column.replace("_", "").trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int firstName = columns.indexOf("firstname");
+        int lastName = columns.indexOf("lastname");
+        int email = columns.indexOf("email");
+        if (firstName < 0 || lastName < 0 || email < 0) {
+            throw new IllegalArgumentException("CSV header must contain firstName, lastName and email columns");
+        }
+        return text -> {
+            List<String> fields = CsvCodec.parse(text);
+            if (fields.size() != columns.size()) {
+                throw new IllegalArgumentException("Expected " + columns.size() + " fields, got " + fields.size());
+            }
+            return new CustomerRequest(fields.get(firstName), fields.get(lastName), fields.get(email));
+        };
+    }
+
+    private String validate(CustomerRequest request) {
+        if (request == null) {
+            return "Customer is required";
+        }
+        Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void reject(CheckpointedOutput rejected, long line, String error, String text) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("line", line);
+        entry.put("error", error);
+        entry.put("input", text);
+        try {
+            rejected.writeLine(objectMapper.writeValueAsString(entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BufferedReader open(Path input, boolean compressed) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(input), BUFFER_SIZE);
+        if (compressed) {
+            in = new GZIPInputStream(in, BUFFER_SIZE);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static final class Row {
+
+        private final long line;
+        private final CustomerRequest request;
+        private final String text;
+
+        private Row(long line, CustomerRequest request, String text) {
+            this.line = line;
+            this.request = request;
+            this.text = text;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ee.lhv.customer.api.job;
+
+import ee.lhv.customer.api.exception.InvalidJobRequestException;
+import lombok.Data;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+@Data
+public class CustomerJob {
+
+    public enum Type {
+        IMPORT, EXPORT
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, INTERRUPTED;
+
+        public boolean isResumable() {
+            return this == FAILED || this == INTERRUPTED;
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidJobRequestException("Unknown format: " + value + ", expected csv or ndjson");
+            }
+        }
+    }
+
+    private String id;
+    private Type type;
+    private Format format;
+    private boolean compressed;
+    private Status status;
+    private long checkpoint;
+    private long filePosition;
+    private long rowsProcessed;
+    private long rowsWritten;
+    private long rowsDuplicate;
+    private long rowsInvalid;
+    private long rowsAtStart;
+    private String error;
+    private LocalDateTime createdDtime;
+    private LocalDateTime startedDtime;
+    private LocalDateTime modifiedDtime;
+
+    public String fileName() {
+        return id + (type == Type.IMPORT ? ".import." : ".") + format.getExtension() + (compressed ? ".gz" : "");
+    }
+
+    public String rejectsFileName() {
+        return id + ".rejected.ndjson";
+    }
+}
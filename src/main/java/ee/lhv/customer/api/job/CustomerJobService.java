@@ -0,0 +1,252 @@
+package ee.lhv.customer.api.job;
+
+import ee.lhv.customer.api.config.JobProperties;
+import ee.lhv.customer.api.exception.CustomerJobNotFoundException;
+import ee.lhv.customer.api.exception.CustomerJobStateException;
+import ee.lhv.customer.api.exception.InvalidJobRequestException;
+import ee.lhv.customer.api.job.CustomerJob.Format;
+import ee.lhv.customer.api.job.CustomerJob.Status;
+import ee.lhv.customer.api.job.CustomerJob.Type;
+import ee.lhv.customer.api.repository.CustomerJobRepository;
+import ee.lhv.customer.api.shard.ShardedCustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerJobService implements SmartLifecycle {
+
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final CustomerJobRepository customerJobRepository;
+    private final CustomerImporter customerImporter;
+    private final CustomerExporter customerExporter;
+    private final JobProperties properties;
+    private final ObjectProvider<ShardedCustomerRepository> shardedCustomerRepository;
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+    private volatile ExecutorService executor;
+    private volatile boolean stopping;
+
+    public CustomerJob submitImport(Format format, InputStream body) {
+        requireUnshardedStorage();
+        CustomerJob job = newJob(Type.IMPORT, format, false);
+        Path spooled = properties.getDirectory().resolve(job.getId() + ".upload");
+        try (InputStream in = new BufferedInputStream(body)) {
+            in.mark(2);
+            job.setCompressed((in.read() | in.read() << 8) == GZIP_MAGIC);
+            in.reset();
+            Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(spooled, file(job), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store import upload for job " + job.getId(), e);
+        }
+        log.info("Import job {} queued for {} bytes of {}", job.getId(), size(file(job)), format);
+        return submit(job);
+    }
+
+    public CustomerJob submitExport(Format format, boolean compressed) {
+        requireUnshardedStorage();
+        CustomerJob job = newJob(Type.EXPORT, format, compressed);
+        log.info("Export job {} queued as {}", job.getId(), job.fileName());
+        return submit(job);
+    }
+
+    public CustomerJob getJob(String id) {
+        return customerJobRepository.findById(id).orElseThrow(() -> new CustomerJobNotFoundException(id));
+    }
+
+    public List<CustomerJob> getJobs(int limit) {
+        return customerJobRepository.findRecent(limit);
+    }
+
+    public CustomerJob resume(String id) {
+        requireUnshardedStorage();
+        CustomerJob job = getJob(id);
+        if (activeJobs.contains(id) || !customerJobRepository.queueResumable(id)) {
+            throw new CustomerJobStateException("Customer job " + id + " is " + getJob(id).getStatus()
+                    + " and cannot be resumed");
+        }
+        job.setStatus(Status.QUEUED);
+        job.setError(null);
+        log.info("Customer job {} resuming from checkpoint {}", id, job.getCheckpoint());
+        executor().execute(() -> run(id));
+        return job;
+    }
+
+    public Path resultFile(String id) {
+        CustomerJob job = getJob(id);
+        if (job.getType() == Type.EXPORT && job.getStatus() != Status.COMPLETED) {
+            throw new CustomerJobStateException("Export job " + id + " is " + job.getStatus() + ", file not ready");
+        }
+        Path path = job.getType() == Type.EXPORT ? file(job) : properties.getDirectory().resolve(job.rejectsFileName());
+        if (!Files.isRegularFile(path)) {
+            throw new CustomerJobStateException("Customer job " + id + " has no file");
+        }
+        return path;
+    }
+
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(properties.getDirectory());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create job directory " + properties.getDirectory(), e);
+        }
+        stopping = false;
+        executor = Executors.newFixedThreadPool(properties.getMaxConcurrent(), Thread.ofPlatform()
+                .name("customer-job-", 0)
+                .daemon(true)
+                .factory());
+        int interrupted = customerJobRepository.interruptRunning();
+        if (interrupted > 0) {
+            log.warn("Marked {} customer jobs left running by a previous instance as interrupted", interrupted);
+        }
+        if (properties.isResumeOnStartup() && shardedCustomerRepository.getIfAvailable() != null) {
+            log.warn("Not resuming interrupted customer jobs, jobs are not supported with sharded storage");
+        } else if (properties.isResumeOnStartup()) {
+            customerJobRepository.findByStatus(Status.INTERRUPTED).forEach(job -> resume(job.getId()));
+        }
+    }
+
+    @Override
+    public void stop() {
+        ExecutorService running = executor;
+        executor = null;
+        if (running == null) {
+            return;
+        }
+        stopping = true;
+        running.shutdown();
+        try {
+            if (!running.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Customer jobs did not reach a checkpoint within 30 seconds");
+                running.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private void requireUnshardedStorage() {
+        if (shardedCustomerRepository.getIfAvailable() != null) {
+            throw new InvalidJobRequestException("Import and export jobs are not supported with sharded storage");
+        }
+    }
+
+    private CustomerJob newJob(Type type, Format format, boolean compressed) {
+        CustomerJob job = new CustomerJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setType(type);
+        job.setFormat(format);
+        job.setCompressed(compressed);
+        job.setStatus(Status.QUEUED);
+        job.setCreatedDtime(LocalDateTime.now());
+        job.setModifiedDtime(job.getCreatedDtime());
+        return job;
+    }
+
+    private CustomerJob submit(CustomerJob job) {
+        customerJobRepository.insert(job);
+        executor().execute(() -> run(job.getId()));
+        return job;
+    }
+
+    private void run(String id) {
+        if (stopping) {
+            return;
+        }
+        if (!activeJobs.add(id)) {
+            log.warn("Customer job {} is already running", id);
+            return;
+        }
+        try {
+            CustomerJob job = getJob(id);
+            if (job.getStatus() != Status.QUEUED) {
+                log.warn("Customer job {} is {}, not running it", id, job.getStatus());
+                return;
+            }
+            job.setStatus(Status.RUNNING);
+            job.setStartedDtime(LocalDateTime.now());
+            job.setRowsAtStart(job.getRowsProcessed());
+            customerJobRepository.update(job);
+            execute(job);
+            job.setStatus(Status.COMPLETED);
+            customerJobRepository.update(job);
+            log.info("Customer job {} completed: {} processed, {} written, {} duplicate, {} invalid", id,
+                    job.getRowsProcessed(), job.getRowsWritten(), job.getRowsDuplicate(), job.getRowsInvalid());
+        } catch (CancellationException e) {
+            log.warn("Customer job {} interrupted: {}", id, e.getMessage());
+            finish(id, Status.INTERRUPTED, null);
+        } catch (Exception e) {
+            log.error("Customer job {} failed", id, e);
+            finish(id, Status.FAILED, e.getMessage());
+        } finally {
+            activeJobs.remove(id);
+        }
+    }
+
+    private void execute(CustomerJob job) throws IOException {
+        if (job.getType() == Type.IMPORT) {
+            customerImporter.run(job, file(job), properties.getDirectory().resolve(job.rejectsFileName()),
+                    () -> stopping);
+        } else {
+            customerExporter.run(job, file(job), () -> stopping);
+        }
+    }
+
+    private void finish(String id, Status status, String error) {
+        customerJobRepository.findById(id).ifPresent(job -> {
+            job.setStatus(status);
+            job.setError(error == null || error.length() <= MAX_ERROR_LENGTH ? error
+                    : error.substring(0, MAX_ERROR_LENGTH));
+            customerJobRepository.update(job);
+        });
+    }
+
+    private ExecutorService executor() {
+        ExecutorService running = executor;
+        if (running == null) {
+            throw new CustomerJobStateException("Customer job executor is not running");
+        }
+        return running;
+    }
+
+    private Path file(CustomerJob job) {
+        return properties.getDirectory().resolve(job.fileName());
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package ee.lhv.customer.api.limit;
+
+import ee.lhv.customer.api.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+    private final Counter rejected;
+
+    public AdaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.backoffRatio = properties.getBackoffRatio();
+        this.limit = new AtomicInteger(properties.getInitialLimit());
+        this.rejected = Counter.builder("customer.api.concurrency.rejected")
+                .description("Requests shed with 503 because the adaptive concurrency limit was reached")
+                .register(meterRegistry);
+        Gauge.builder("customer.api.concurrency.limit", limit, AtomicInteger::get)
+                .description("Current adaptive limit of in-flight requests")
+                .register(meterRegistry);
+        Gauge.builder("customer.api.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding a concurrency permit")
+                .register(meterRegistry);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long startNanos, long endNanos, boolean overloaded) {
+        int active = inFlight.getAndDecrement();
+        if (overloaded || endNanos - startNanos > latencyThresholdNanos) {
+            long lastDecrease = lastDecreaseNanos.get();
+            if (startNanos - lastDecrease >= 0 && lastDecreaseNanos.compareAndSet(lastDecrease, endNanos)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (active * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
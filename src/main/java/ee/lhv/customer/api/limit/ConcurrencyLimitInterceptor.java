@@ -0,0 +1,49 @@
+package ee.lhv.customer.api.limit;
+
+import ee.lhv.customer.api.exception.ConcurrencyLimitExceededException;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String STARTED_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".started";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(limiter.limit());
+        }
+        request.setAttribute(STARTED_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        release(request, false);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        release(request, response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+    }
+
+    private void release(HttpServletRequest request, boolean overloaded) {
+        Object started = request.getAttribute(STARTED_ATTRIBUTE);
+        if (started != null) {
+            request.removeAttribute(STARTED_ATTRIBUTE);
+            limiter.release((long) started, System.nanoTime(), overloaded);
+        }
+    }
+}
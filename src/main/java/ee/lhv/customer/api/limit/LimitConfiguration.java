@@ -0,0 +1,46 @@
+package ee.lhv.customer.api.limit;
+
+import ee.lhv.customer.api.config.ConcurrencyLimitProperties;
+import ee.lhv.customer.api.config.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication
+public class LimitConfiguration {
+
+    private static final String LIMITED_PATHS = "/customers/**";
+
+    @Bean
+    @ConditionalOnProperty(prefix = "customer-api.rate-limit", name = "enabled", havingValue = "true")
+    RateLimitInterceptor rateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        return new RateLimitInterceptor(properties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "customer-api.concurrency-limit", name = "enabled", havingValue = "true")
+    AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties,
+                                                          MeterRegistry meterRegistry) {
+        return new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+    }
+
+    @Bean
+    WebMvcConfigurer limitWebMvcConfigurer(ObjectProvider<RateLimitInterceptor> rateLimitInterceptor,
+                                           ObjectProvider<AdaptiveConcurrencyLimiter> concurrencyLimiter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                rateLimitInterceptor.ifAvailable(interceptor ->
+                        registry.addInterceptor(interceptor).addPathPatterns(LIMITED_PATHS));
+                concurrencyLimiter.ifAvailable(limiter ->
+                        registry.addInterceptor(new ConcurrencyLimitInterceptor(limiter)).addPathPatterns(LIMITED_PATHS));
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package ee.lhv.customer.api.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ee.lhv.customer.api.config.RateLimitProperties;
+import ee.lhv.customer.api.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final int FINGERPRINT_BYTES = 4;
+
+    private final RateLimitProperties properties;
+    private final Cache<String, TokenBucket> buckets;
+    private final Cache<String, TokenBucket> addressBuckets;
+    private final Counter rejected;
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.buckets = buckets(properties);
+        this.addressBuckets = buckets(properties);
+        this.rejected = Counter.builder("customer.api.rate-limit.rejected")
+                .description("Requests rejected with 429 because the client's token bucket was empty")
+                .register(meterRegistry);
+        Gauge.builder("customer.api.rate-limit.clients", buckets, Cache::estimatedSize)
+                .description("Clients with a token bucket")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RateLimitCost cost = method.getMethodAnnotation(RateLimitCost.class);
+        int tokens = cost == null ? 1 : cost.value();
+        String address = request.getRemoteAddr();
+        String clientId = request.getHeader(properties.getClientIdHeader());
+        long now = System.nanoTime();
+        consume(addressBuckets, address, properties.getAddressCapacity(), properties.getAddressRefillPerSecond(),
+                tokens, now);
+        consume(buckets, clientId != null ? clientId : address, properties.getCapacity(),
+                properties.getRefillPerSecond(), tokens, now);
+        return true;
+    }
+
+    private void consume(Cache<String, TokenBucket> cache, String client, int capacity, double refillPerSecond,
+                         int tokens, long now) {
+        long waitNanos = cache.get(client, key -> new TokenBucket(capacity, refillPerSecond, now))
+                .tryConsume(tokens, now);
+        if (waitNanos > 0) {
+            rejected.increment();
+            throw new RateLimitExceededException(fingerprint(client),
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1));
+        }
+    }
+
+    private static Cache<String, TokenBucket> buckets(RateLimitProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumClients())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    private static String fingerprint(String client) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(client.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, FINGERPRINT_BYTES);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package ee.lhv.customer.api.limit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TokenBucket {
+
+    private final int capacity;
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.nanosPerToken = (long) (1_000_000_000L / refillPerSecond);
+        this.burstNanos = nanosPerToken * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public long tryConsume(int tokens, long nowNanos) {
+        long increment = nanosPerToken * Math.min(tokens, capacity);
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current - nowNanos, 0) + nowNanos + increment;
+            long waitNanos = next - nowNanos - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
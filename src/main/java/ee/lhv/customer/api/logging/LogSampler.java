@@ -0,0 +1,45 @@
+package ee.lhv.customer.api.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+public class LogSampler {
+
+    private static final long SUPPRESSED = -1;
+
+    private final long intervalNanos;
+    private final AtomicLong nextLogAt;
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogSampler(Duration interval) {
+        this.intervalNanos = interval.toNanos();
+        this.nextLogAt = new AtomicLong(System.nanoTime());
+    }
+
+    public void log(Logger logger, Level level, String message, Object... arguments) {
+        long skipped = sample();
+        if (skipped == SUPPRESSED) {
+            return;
+        }
+        LoggingEventBuilder event = logger.atLevel(level);
+        for (Object argument : arguments) {
+            event = argument instanceof Throwable cause ? event.setCause(cause) : event.addArgument(argument);
+        }
+        event.addArgument(skipped).log(message + " ({} similar suppressed)");
+    }
+
+    private long sample() {
+        long now = System.nanoTime();
+        long next = nextLogAt.get();
+        if (now - next >= 0 && nextLogAt.compareAndSet(next, now + intervalNanos)) {
+            return suppressed.sumThenReset();
+        }
+        suppressed.increment();
+        return SUPPRESSED;
+    }
+}
@@ -0,0 +1,27 @@
+package ee.lhv.customer.api.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@RequiredArgsConstructor
+public class ErrorMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public void increment(HttpStatus status, String code) {
+        counters.computeIfAbsent(code, key -> Counter.builder("customer.api.errors")
+                        .description("Error responses by status and error code")
+                        .tag("status", String.valueOf(status.value()))
+                        .tag("code", code)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,42 @@
+package ee.lhv.customer.api.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RequiredArgsConstructor
+public class StatementCountInterceptor implements HandlerInterceptor {
+
+    private final StatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statementCounter.start();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int statements = statementCounter.stop();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        summaries.computeIfAbsent(request.getMethod() + " " + uri, key -> DistributionSummary
+                        .builder("customer.api.request.statements")
+                        .description("Hibernate SQL statements executed per request")
+                        .tag("method", request.getMethod())
+                        .tag("uri", uri)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry))
+                .record(statements);
+    }
+}
@@ -0,0 +1,154 @@
+package ee.lhv.customer.api.outbox;
+
+import ee.lhv.customer.api.dto.CustomerChange;
+import ee.lhv.customer.api.dto.CustomerChangesResponse;
+import ee.lhv.customer.api.repository.CustomerChangeRepository;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class CustomerChangeFeed implements DisposableBean {
+
+    private static final int PUBLISH_BATCH_SIZE = 500;
+
+    private final CustomerChangeRepository customerChangeRepository;
+    private final TransactionOperations transactionOperations;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeUpScheduled = new AtomicBoolean();
+    private final AtomicBoolean unpublished = new AtomicBoolean(true);
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+            .name("customer-change-feed")
+            .daemon(true)
+            .factory());
+
+    public CustomerChangeFeed(CustomerChangeRepository customerChangeRepository,
+                              TransactionOperations transactionOperations) {
+        this.customerChangeRepository = customerChangeRepository;
+        this.transactionOperations = transactionOperations;
+    }
+
+    public CustomerChangesResponse read(long since, int limit) {
+        publishIfChanged();
+        return response(since, customerChangeRepository.findSince(since, limit));
+    }
+
+    public int publish() {
+        int total = 0;
+        int published;
+        do {
+            published = transactionOperations.execute(status -> customerChangeRepository.publish(PUBLISH_BATCH_SIZE));
+            total += published;
+        } while (published == PUBLISH_BATCH_SIZE);
+        return total;
+    }
+
+    public DeferredResult<CustomerChangesResponse> poll(long since, int limit, Duration wait) {
+        DeferredResult<CustomerChangesResponse> result = new DeferredResult<>(wait.toMillis(),
+                () -> new CustomerChangesResponse(List.of(), since));
+        CustomerChangesResponse changes = read(since, limit);
+        if (!changes.getChanges().isEmpty() || wait.isZero()) {
+            result.setResult(changes);
+            return result;
+        }
+        Waiter waiter = new Waiter(since, limit, result);
+        result.onCompletion(() -> waiters.remove(waiter));
+        waiters.add(waiter);
+        scheduleWakeUp();
+        return result;
+    }
+
+    void changed() {
+        unpublished.set(true);
+        scheduleWakeUp();
+    }
+
+    private void scheduleWakeUp() {
+        if (!waiters.isEmpty() && wakeUpScheduled.compareAndSet(false, true)) {
+            notifier.execute(this::wakeUp);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        notifier.shutdownNow();
+        waiters.forEach(waiter -> waiter.getResult().setResult(new CustomerChangesResponse(List.of(), waiter.getSince())));
+    }
+
+    private void wakeUp() {
+        wakeUpScheduled.set(false);
+        List<Waiter> pending = new ArrayList<>();
+        for (Waiter waiter : waiters) {
+            if (!waiter.getResult().isSetOrExpired()) {
+                pending.add(waiter);
+            }
+        }
+        try {
+            publishIfChanged();
+            while (!pending.isEmpty()) {
+                long since = pending.stream().mapToLong(Waiter::getSince).min().getAsLong();
+                int limit = pending.stream().mapToInt(Waiter::getLimit).max().getAsInt();
+                List<CustomerChange> changes = customerChangeRepository.findSince(since, limit);
+                if (changes.isEmpty()) {
+                    return;
+                }
+                pending.removeIf(waiter -> deliver(waiter, changes));
+                if (changes.size() < limit) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Reading changes for {} waiting requests failed", pending.size(), e);
+            pending.forEach(waiter -> waiter.getResult().setErrorResult(e));
+        }
+    }
+
+    private boolean deliver(Waiter waiter, List<CustomerChange> changes) {
+        List<CustomerChange> newer = changes.stream()
+                .filter(change -> change.getSequence() > waiter.getSince())
+                .limit(waiter.getLimit())
+                .toList();
+        if (newer.isEmpty()) {
+            return false;
+        }
+        waiter.getResult().setResult(response(waiter.getSince(), newer));
+        return true;
+    }
+
+    private void publishIfChanged() {
+        if (unpublished.getAndSet(false)) {
+            try {
+                publish();
+            } catch (RuntimeException e) {
+                unpublished.set(true);
+                throw e;
+            }
+        }
+    }
+
+    private static CustomerChangesResponse response(long since, List<CustomerChange> changes) {
+        long next = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSequence();
+        return new CustomerChangesResponse(changes, next);
+    }
+
+    @Value
+    private static class Waiter {
+
+        long since;
+        int limit;
+        DeferredResult<CustomerChangesResponse> result;
+    }
+}
@@ -0,0 +1,128 @@
+package ee.lhv.customer.api.outbox;
+
+import ee.lhv.customer.api.config.OutboxProperties;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import ee.lhv.customer.api.repository.CustomerChangeRepository;
+import ee.lhv.customer.api.shard.ShardedCustomerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerOutbox implements SmartLifecycle {
+
+    private final OutboxProperties properties;
+    private final CustomerChangeRepository customerChangeRepository;
+    private final CustomerChangeFeed customerChangeFeed;
+    private final ObjectProvider<ShardedCustomerRepository> shardedCustomerRepository;
+    private volatile ScheduledExecutorService executor;
+
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (!isActive()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            customerChangeRepository.insertAll(List.of(event));
+            customerChangeFeed.changed();
+            return;
+        }
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    public boolean isActive() {
+        return properties.isEnabled() && shardedCustomerRepository.getIfAvailable() == null;
+    }
+
+    public int cleanup() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = customerChangeRepository.deleteOlderThan(now.minus(properties.getRetention()));
+        int compacted = customerChangeRepository.deleteSuperseded(now.minus(properties.getCompactAfter()));
+        if (expired + compacted > 0) {
+            log.info("Outbox cleanup removed {} expired and {} superseded changes", expired, compacted);
+        }
+        return expired + compacted;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!isActive()) {
+            log.warn("Change feed disabled, the outbox cannot share a transaction with sharded storage");
+            return;
+        }
+        long intervalMillis = properties.getCleanupInterval().toMillis();
+        long publishIntervalMillis = properties.getPublishInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("customer-outbox")
+                .daemon(true)
+                .factory());
+        executor.scheduleWithFixedDelay(this::cleanupSafely, intervalMillis, intervalMillis,
+                TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(customerChangeFeed::changed, publishIntervalMillis,
+                publishIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private void cleanupSafely() {
+        try {
+            cleanup();
+        } catch (RuntimeException e) {
+            log.error("Outbox cleanup failed", e);
+        }
+    }
+
+    private class PendingChanges implements TransactionSynchronization {
+
+        private final List<CustomerChangedEvent> events = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            customerChangeRepository.insertAll(events);
+        }
+
+        @Override
+        public void afterCommit() {
+            customerChangeFeed.changed();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(CustomerOutbox.this);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ee.lhv.customer.api.repository;
+
+import ee.lhv.customer.api.entity.Customer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static ee.lhv.customer.api.repository.CustomerJdbcRepository.CUSTOMER_ROW_MAPPER;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerArchiveRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email, created_dtime, modified_dtime, version";
+
+    private static final String SELECT_BY_ID =
+            "SELECT " + COLUMNS + " FROM customers_archive WHERE id = ? AND deleted_dtime IS NULL";
+
+    private static final String SELECT_BY_IDS =
+            "SELECT " + COLUMNS + " FROM customers_archive WHERE id IN (:ids) AND deleted_dtime IS NULL";
+
+    private static final String LOCK_DELETED =
+            "SELECT id FROM customers WHERE deleted_dtime <= ? ORDER BY id LIMIT ? FOR UPDATE";
+
+    private static final String COPY_TO_ARCHIVE =
+            "INSERT INTO customers_archive (" + COLUMNS + ", deleted_dtime, archived_dtime) "
+            + "SELECT " + COLUMNS + ", deleted_dtime, :now FROM customers WHERE id IN (:ids)";
+
+    private static final String DELETE_ARCHIVED = "DELETE FROM customers WHERE id IN (:ids)";
+
+    private static final String COPY_TO_CUSTOMERS =
+            "INSERT INTO customers (" + COLUMNS + ") "
+            + "SELECT " + COLUMNS + " FROM customers_archive a WHERE a.id IN (:ids) AND a.deleted_dtime IS NULL "
+            + "AND NOT EXISTS (SELECT 1 FROM customers c WHERE c.live_email = a.email)";
+
+    private static final String DELETE_RESTORED =
+            "DELETE FROM customers_archive WHERE id IN (:ids) AND deleted_dtime IS NULL "
+            + "AND id IN (SELECT id FROM customers WHERE id IN (:ids))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<Customer> findById(long id) {
+        return jdbcTemplate.query(SELECT_BY_ID, CUSTOMER_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    public List<Customer> findAllById(Collection<Long> ids) {
+        return new NamedParameterJdbcTemplate(jdbcTemplate).query(SELECT_BY_IDS, Map.of("ids", ids), CUSTOMER_ROW_MAPPER);
+    }
+
+    public List<Long> lockDeleted(LocalDateTime deletedBefore, int limit) {
+        return jdbcTemplate.queryForList(LOCK_DELETED, Long.class, Timestamp.valueOf(deletedBefore), limit);
+    }
+
+    public int archive(Collection<Long> ids) {
+        NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        int copied = namedJdbcTemplate.update(COPY_TO_ARCHIVE,
+                Map.of("ids", ids, "now", Timestamp.valueOf(LocalDateTime.now())));
+        namedJdbcTemplate.update(DELETE_ARCHIVED, Map.of("ids", ids));
+        return copied;
+    }
+
+    public int restore(Collection<Long> ids) {
+        NamedParameterJdbcTemplate namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        int restored = namedJdbcTemplate.update(COPY_TO_CUSTOMERS, Map.of("ids", ids));
+        if (restored > 0) {
+            namedJdbcTemplate.update(DELETE_RESTORED, Map.of("ids", ids));
+        }
+        return restored;
+    }
+}
@@ -0,0 +1,100 @@
+package ee.lhv.customer.api.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.dto.CustomerChange;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import ee.lhv.customer.api.event.CustomerChangedEvent.Type;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerChangeRepository {
+
+    private static final String INSERT =
+            "INSERT INTO customer_changes (customer_id, change_type, payload) VALUES (?, ?, ?)";
+
+    private static final String SELECT_SINCE =
+            "SELECT feed_sequence, customer_id, change_type, payload, changed_dtime FROM customer_changes "
+            + "WHERE feed_sequence > ? ORDER BY feed_sequence LIMIT ?";
+
+    private static final String LOCK_FEED = "SELECT last_sequence FROM customer_change_feed WHERE id = 1 FOR UPDATE";
+
+    private static final String SELECT_UNPUBLISHED =
+            "SELECT sequence FROM customer_changes WHERE feed_sequence IS NULL ORDER BY sequence LIMIT ?";
+
+    private static final String UPDATE_FEED_SEQUENCE = "UPDATE customer_changes SET feed_sequence = ? WHERE sequence = ?";
+
+    private static final String UPDATE_LAST_SEQUENCE = "UPDATE customer_change_feed SET last_sequence = ? WHERE id = 1";
+
+    private static final String DELETE_SUPERSEDED =
+            "DELETE FROM customer_changes c WHERE c.changed_dtime < ? AND EXISTS ("
+            + "SELECT 1 FROM customer_changes n WHERE n.customer_id = c.customer_id AND n.sequence > c.sequence)";
+
+    private static final String DELETE_OLDER_THAN = "DELETE FROM customer_changes WHERE changed_dtime < ?";
+
+    private static final RowMapper<CustomerChange> CHANGE_ROW_MAPPER = (rs, rowNum) -> new CustomerChange(
+            rs.getLong("feed_sequence"),
+            rs.getLong("customer_id"),
+            Type.valueOf(rs.getString("change_type")),
+            rs.getString("payload"),
+            rs.getTimestamp("changed_dtime").toLocalDateTime());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public void insertAll(List<CustomerChangedEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (statement, event) -> {
+            statement.setLong(1, event.getCustomerId());
+            statement.setString(2, event.getType().name());
+            statement.setString(3, payload(event));
+        });
+    }
+
+    public int publish(int limit) {
+        long last = jdbcTemplate.queryForObject(LOCK_FEED, Long.class);
+        List<Long> unpublished = jdbcTemplate.queryForList(SELECT_UNPUBLISHED, Long.class, limit);
+        if (unpublished.isEmpty()) {
+            return 0;
+        }
+        List<Object[]> assignments = new ArrayList<>(unpublished.size());
+        for (Long sequence : unpublished) {
+            assignments.add(new Object[]{++last, sequence});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_FEED_SEQUENCE, assignments);
+        jdbcTemplate.update(UPDATE_LAST_SEQUENCE, last);
+        return unpublished.size();
+    }
+
+    public List<CustomerChange> findSince(long since, int limit) {
+        return jdbcTemplate.query(SELECT_SINCE, CHANGE_ROW_MAPPER, since, limit);
+    }
+
+    public int deleteSuperseded(LocalDateTime before) {
+        return jdbcTemplate.update(DELETE_SUPERSEDED, Timestamp.valueOf(before));
+    }
+
+    public int deleteOlderThan(LocalDateTime before) {
+        return jdbcTemplate.update(DELETE_OLDER_THAN, Timestamp.valueOf(before));
+    }
+
+    private String payload(CustomerChangedEvent event) {
+        if (event.getCustomer() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(event.getCustomer());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
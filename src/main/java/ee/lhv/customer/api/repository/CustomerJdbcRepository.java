@@ -0,0 +1,204 @@
+package ee.lhv.customer.api.repository;
+
+import ee.lhv.customer.api.config.PagingProperties;
+import ee.lhv.customer.api.dto.CustomerField;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.entity.Customer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerJdbcRepository {
+
+    private static final String COLUMNS = "id, first_name, last_name, email, created_dtime, modified_dtime, version";
+
+    private static final String SELECT_ALL_ORDERED_BY_ID =
+            "SELECT " + COLUMNS + " FROM customers WHERE deleted_dtime IS NULL ORDER BY id";
+
+    private static final String SELECT_PAGE_AFTER_INCLUDING_ARCHIVE =
+            "SELECT " + COLUMNS + " FROM (SELECT " + COLUMNS + " FROM customers WHERE deleted_dtime IS NULL AND id > ? "
+            + "ORDER BY id LIMIT ?) UNION ALL SELECT " + COLUMNS + " FROM (SELECT " + COLUMNS + " FROM customers_archive "
+            + "WHERE deleted_dtime IS NULL AND id > ? ORDER BY id LIMIT ?) ORDER BY id LIMIT ?";
+
+    private static final String SELECT_BY_IDS =
+            "SELECT " + COLUMNS + " FROM customers WHERE deleted_dtime IS NULL AND id IN (:ids)";
+
+    private static final String SELECT_ALL_EMAILS = "SELECT email FROM customers WHERE deleted_dtime IS NULL "
+            + "UNION ALL SELECT email FROM customers_archive WHERE deleted_dtime IS NULL";
+
+    private static final String ALL_LIVE_CUSTOMERS = "(SELECT created_dtime, email FROM customers WHERE deleted_dtime IS NULL "
+            + "UNION ALL SELECT created_dtime, email FROM customers_archive WHERE deleted_dtime IS NULL)";
+
+    private static final String COUNT_BY_CREATED_DATE =
+            "SELECT CAST(created_dtime AS DATE) AS created_date, COUNT(*) AS customers FROM " + ALL_LIVE_CUSTOMERS
+            + " GROUP BY CAST(created_dtime AS DATE)";
+
+    private static final String COUNT_BY_EMAIL_DOMAIN =
+            "SELECT LOWER(SUBSTRING(email, LOCATE('@', email) + 1)) AS domain, COUNT(*) AS customers FROM "
+            + ALL_LIVE_CUSTOMERS + " GROUP BY LOWER(SUBSTRING(email, LOCATE('@', email) + 1))";
+
+    private static final String SOFT_DELETE =
+            "SELECT " + COLUMNS + " FROM OLD TABLE (UPDATE customers SET deleted_dtime = ?, version = version + 1 "
+            + "WHERE id = ? AND deleted_dtime IS NULL)";
+
+    private static final String SOFT_DELETE_VERSION =
+            "SELECT " + COLUMNS + " FROM OLD TABLE (UPDATE customers SET deleted_dtime = ?, version = version + 1 "
+            + "WHERE id = ? AND deleted_dtime IS NULL AND version = ?)";
+
+    private static final String SOFT_DELETE_ALL_VERSION =
+            "UPDATE customers SET deleted_dtime = ?, version = version + 1 WHERE id = ? AND deleted_dtime IS NULL AND version = ?";
+
+    private static final String SEARCH_SELECT =
+            "SELECT " + COLUMNS + " FROM customers WHERE deleted_dtime IS NULL AND id IN ("
+            + "SELECT id FROM customers WHERE first_name_lower LIKE ? ESCAPE '\\' "
+            + "UNION SELECT id FROM customers WHERE last_name_lower LIKE ? ESCAPE '\\' "
+            + "UNION SELECT id FROM customers WHERE email_lower LIKE ? ESCAPE '\\')";
+
+    private static final String SEARCH_TOKEN_CONDITION =
+            " AND (first_name_lower LIKE ? ESCAPE '\\' OR last_name_lower LIKE ? ESCAPE '\\' OR email_lower LIKE ? ESCAPE '\\')";
+
+    public static final RowMapper<Customer> CUSTOMER_ROW_MAPPER = (rs, rowNum) -> {
+        Customer customer = new Customer(
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("email"));
+        customer.setId(rs.getLong("id"));
+        customer.setCreatedDtime(rs.getTimestamp("created_dtime").toLocalDateTime());
+        customer.setModifiedDtime(rs.getTimestamp("modified_dtime").toLocalDateTime());
+        customer.setVersion(rs.getLong("version"));
+        return customer;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PagingProperties pagingProperties;
+
+    public void forEachCustomer(Consumer<Customer> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_ALL_ORDERED_BY_ID, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(pagingProperties.getStreamFetchSize());
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(CUSTOMER_ROW_MAPPER.mapRow(rs, rs.getRow())));
+    }
+
+    public void forEachCustomerAfter(long after, Consumer<Customer> consumer) {
+        int pageSize = pagingProperties.getStreamFetchSize();
+        List<Customer> page;
+        do {
+            page = jdbcTemplate.query(SELECT_PAGE_AFTER_INCLUDING_ARCHIVE, CUSTOMER_ROW_MAPPER,
+                    after, pageSize, after, pageSize, pageSize);
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == pageSize);
+    }
+
+    public Map<LocalDate, Long> countByCreatedDate() {
+        Map<LocalDate, Long> counts = new HashMap<>();
+        jdbcTemplate.query(COUNT_BY_CREATED_DATE, (RowCallbackHandler) rs ->
+                counts.put(rs.getDate("created_date").toLocalDate(), rs.getLong("customers")));
+        return counts;
+    }
+
+    public Map<String, Long> countByEmailDomain() {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query(COUNT_BY_EMAIL_DOMAIN, (RowCallbackHandler) rs ->
+                counts.put(rs.getString("domain"), rs.getLong("customers")));
+        return counts;
+    }
+
+    public List<Customer> findAllById(Collection<Long> ids) {
+        return new NamedParameterJdbcTemplate(jdbcTemplate)
+                .query(SELECT_BY_IDS, Map.of("ids", ids), CUSTOMER_ROW_MAPPER);
+    }
+
+    public Optional<Customer> softDelete(long id, Long expectedVersion) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Customer> deleted = expectedVersion == null
+                ? jdbcTemplate.query(SOFT_DELETE, CUSTOMER_ROW_MAPPER, now, id)
+                : jdbcTemplate.query(SOFT_DELETE_VERSION, CUSTOMER_ROW_MAPPER, now, id, expectedVersion);
+        return deleted.stream().findFirst();
+    }
+
+    public int[] softDeleteAll(List<Customer> customers) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.batchUpdate(SOFT_DELETE_ALL_VERSION, customers.stream()
+                .map(customer -> new Object[]{now, customer.getId(), customer.getVersion()})
+                .toList());
+    }
+
+    public List<CustomerResponse> findAfter(long after, int limit, Set<CustomerField> fields) {
+        String columns = fields.stream().map(CustomerField::getColumn).collect(Collectors.joining(", "));
+        return jdbcTemplate.query("SELECT " + columns + " FROM customers WHERE deleted_dtime IS NULL AND id > ? ORDER BY id LIMIT ?",
+                (rs, rowNum) -> projection(rs, fields), after, limit);
+    }
+
+    public List<Customer> search(List<String> tokens, int limit, int offset) {
+        List<String> prefixes = tokens.stream()
+                .sorted(Comparator.comparingInt(String::length).reversed())
+                .map(token -> escapeLike(token.toLowerCase(Locale.ROOT)) + "%")
+                .toList();
+        StringBuilder sql = new StringBuilder(SEARCH_SELECT);
+        List<Object> args = new ArrayList<>();
+        for (String prefix : prefixes) {
+            if (!args.isEmpty()) {
+                sql.append(SEARCH_TOKEN_CONDITION);
+            }
+            args.add(prefix);
+            args.add(prefix);
+            args.add(prefix);
+        }
+        sql.append(" ORDER BY id LIMIT ? OFFSET ?");
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(sql.toString(), CUSTOMER_ROW_MAPPER, args.toArray());
+    }
+
+    public void forEachEmail(Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    SELECT_ALL_EMAILS, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(pagingProperties.getStreamFetchSize());
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    private static CustomerResponse projection(ResultSet rs, Set<CustomerField> fields) throws SQLException {
+        return new CustomerResponse(
+                rs.getLong("id"),
+                fields.contains(CustomerField.FIRST_NAME) ? rs.getString("first_name") : null,
+                fields.contains(CustomerField.LAST_NAME) ? rs.getString("last_name") : null,
+                fields.contains(CustomerField.EMAIL) ? rs.getString("email") : null,
+                fields.contains(CustomerField.CREATED_DTIME) ? rs.getTimestamp("created_dtime").toLocalDateTime() : null,
+                fields.contains(CustomerField.MODIFIED_DTIME) ? rs.getTimestamp("modified_dtime").toLocalDateTime() : null,
+                fields.contains(CustomerField.VERSION) ? rs.getLong("version") : null);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,106 @@
+package ee.lhv.customer.api.repository;
+
+import ee.lhv.customer.api.job.CustomerJob;
+import ee.lhv.customer.api.job.CustomerJob.Format;
+import ee.lhv.customer.api.job.CustomerJob.Status;
+import ee.lhv.customer.api.job.CustomerJob.Type;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class CustomerJobRepository {
+
+    private static final String SELECT_JOBS =
+            "SELECT id, job_type, format, compressed, status, checkpoint, file_position, rows_processed, rows_written, "
+            + "rows_duplicate, rows_invalid, rows_at_start, error, created_dtime, started_dtime, modified_dtime "
+            + "FROM customer_jobs";
+
+    private static final String SELECT_BY_ID = SELECT_JOBS + " WHERE id = ?";
+
+    private static final String SELECT_RECENT = SELECT_JOBS + " ORDER BY created_dtime DESC LIMIT ?";
+
+    private static final String SELECT_BY_STATUS = SELECT_JOBS + " WHERE status = ? ORDER BY created_dtime";
+
+    private static final String INSERT =
+            "INSERT INTO customer_jobs (id, job_type, format, compressed, status, created_dtime, modified_dtime) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE =
+            "UPDATE customer_jobs SET status = ?, checkpoint = ?, file_position = ?, rows_processed = ?, "
+            + "rows_written = ?, rows_duplicate = ?, rows_invalid = ?, rows_at_start = ?, error = ?, "
+            + "started_dtime = ?, modified_dtime = ? WHERE id = ?";
+
+    private static final String INTERRUPT_RUNNING =
+            "UPDATE customer_jobs SET status = 'INTERRUPTED', modified_dtime = ? WHERE status IN ('QUEUED', 'RUNNING')";
+
+    private static final String QUEUE_RESUMABLE =
+            "UPDATE customer_jobs SET status = 'QUEUED', error = NULL, modified_dtime = ? "
+            + "WHERE id = ? AND status IN ('FAILED', 'INTERRUPTED')";
+
+    private static final RowMapper<CustomerJob> JOB_ROW_MAPPER = (rs, rowNum) -> {
+        CustomerJob job = new CustomerJob();
+        job.setId(rs.getString("id"));
+        job.setType(Type.valueOf(rs.getString("job_type")));
+        job.setFormat(Format.valueOf(rs.getString("format")));
+        job.setCompressed(rs.getBoolean("compressed"));
+        job.setStatus(Status.valueOf(rs.getString("status")));
+        job.setCheckpoint(rs.getLong("checkpoint"));
+        job.setFilePosition(rs.getLong("file_position"));
+        job.setRowsProcessed(rs.getLong("rows_processed"));
+        job.setRowsWritten(rs.getLong("rows_written"));
+        job.setRowsDuplicate(rs.getLong("rows_duplicate"));
+        job.setRowsInvalid(rs.getLong("rows_invalid"));
+        job.setRowsAtStart(rs.getLong("rows_at_start"));
+        job.setError(rs.getString("error"));
+        job.setCreatedDtime(rs.getTimestamp("created_dtime").toLocalDateTime());
+        Timestamp started = rs.getTimestamp("started_dtime");
+        job.setStartedDtime(started == null ? null : started.toLocalDateTime());
+        job.setModifiedDtime(rs.getTimestamp("modified_dtime").toLocalDateTime());
+        return job;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insert(CustomerJob job) {
+        jdbcTemplate.update(INSERT, job.getId(), job.getType().name(), job.getFormat().name(), job.isCompressed(),
+                job.getStatus().name(), Timestamp.valueOf(job.getCreatedDtime()),
+                Timestamp.valueOf(job.getModifiedDtime()));
+    }
+
+    public void update(CustomerJob job) {
+        job.setModifiedDtime(LocalDateTime.now());
+        jdbcTemplate.update(UPDATE, job.getStatus().name(), job.getCheckpoint(), job.getFilePosition(),
+                job.getRowsProcessed(), job.getRowsWritten(), job.getRowsDuplicate(), job.getRowsInvalid(),
+                job.getRowsAtStart(), job.getError(),
+                job.getStartedDtime() == null ? null : Timestamp.valueOf(job.getStartedDtime()),
+                Timestamp.valueOf(job.getModifiedDtime()), job.getId());
+    }
+
+    public Optional<CustomerJob> findById(String id) {
+        return jdbcTemplate.query(SELECT_BY_ID, JOB_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    public List<CustomerJob> findRecent(int limit) {
+        return jdbcTemplate.query(SELECT_RECENT, JOB_ROW_MAPPER, limit);
+    }
+
+    public List<CustomerJob> findByStatus(Status status) {
+        return jdbcTemplate.query(SELECT_BY_STATUS, JOB_ROW_MAPPER, status.name());
+    }
+
+    public boolean queueResumable(String id) {
+        return jdbcTemplate.update(QUEUE_RESUMABLE, Timestamp.valueOf(LocalDateTime.now()), id) > 0;
+    }
+
+    public int interruptRunning() {
+        return jdbcTemplate.update(INTERRUPT_RUNNING, Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
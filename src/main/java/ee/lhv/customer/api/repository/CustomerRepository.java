@@ -1,11 +1,27 @@
 package ee.lhv.customer.api.repository;
 
 import ee.lhv.customer.api.entity.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
-    boolean existsByEmail(String email);
-}
\ No newline at end of file
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM customers WHERE live_email = :email) "
+            + "OR EXISTS (SELECT 1 FROM customers_archive WHERE email = :email AND deleted_dtime IS NULL)",
+            nativeQuery = true)
+    boolean existsByEmail(@Param("email") String email);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query(value = "SELECT live_email FROM customers WHERE live_email IN (:emails) "
+            + "UNION SELECT email FROM customers_archive WHERE email IN (:emails) AND deleted_dtime IS NULL",
+            nativeQuery = true)
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+}
@@ -0,0 +1,46 @@
+package ee.lhv.customer.api.repository;
+
+import ee.lhv.customer.api.idempotency.IdempotentResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+
+    private static final String SELECT_BY_ID =
+            "SELECT fingerprint, status, body FROM idempotency_keys WHERE id = ? AND created_dtime > ?";
+
+    private static final String INSERT =
+            "INSERT INTO idempotency_keys (id, fingerprint, status, body, created_dtime) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String DELETE_OLDER_THAN = "DELETE FROM idempotency_keys WHERE created_dtime <= ?";
+
+    private static final RowMapper<IdempotentResponse> RESPONSE_ROW_MAPPER = (rs, rowNum) -> new IdempotentResponse(
+            rs.getString("fingerprint"),
+            rs.getInt("status"),
+            rs.getString("body"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<IdempotentResponse> findById(String id, LocalDateTime createdAfter) {
+        return jdbcTemplate.query(SELECT_BY_ID, RESPONSE_ROW_MAPPER, id, Timestamp.valueOf(createdAfter))
+                .stream()
+                .findFirst();
+    }
+
+    public void insert(String id, IdempotentResponse response) {
+        jdbcTemplate.update(INSERT, id, response.getFingerprint(), response.getStatus(), response.getBody(),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public int deleteOlderThan(LocalDateTime before) {
+        return jdbcTemplate.update(DELETE_OLDER_THAN, Timestamp.valueOf(before));
+    }
+}
@@ -0,0 +1,11 @@
+package ee.lhv.customer.api.service;
+
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.dto.CustomerBatchResponse;
+
+import java.util.List;
+
+public interface CustomerBatchProcessor {
+
+    CustomerBatchResponse processBatch(List<CustomerBatchOperation> operations);
+}
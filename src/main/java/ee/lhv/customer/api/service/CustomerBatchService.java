@@ -0,0 +1,255 @@
+package ee.lhv.customer.api.service;
+
+import ee.lhv.customer.api.archive.CustomerArchive;
+import ee.lhv.customer.api.config.BatchProperties;
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.dto.CustomerBatchOperation.Action;
+import ee.lhv.customer.api.dto.CustomerBatchResponse;
+import ee.lhv.customer.api.dto.CustomerBatchResult;
+import ee.lhv.customer.api.dto.CustomerBatchResult.Status;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import ee.lhv.customer.api.exception.BatchTooLargeException;
+import ee.lhv.customer.api.exception.PreconditionFailedException;
+import ee.lhv.customer.api.index.EmailIndex;
+import ee.lhv.customer.api.repository.CustomerJdbcRepository;
+import ee.lhv.customer.api.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@Transactional
+@Timed(value = "customer.service", histogram = true)
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerBatchService implements CustomerBatchProcessor {
+
+    private final CustomerRepository customerRepository;
+    private final EntityManager entityManager;
+    private final CustomerBatchValidator customerBatchValidator;
+    private final BatchProperties batchProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmailIndex emailIndex;
+    private final CustomerJdbcRepository customerJdbcRepository;
+    private final CustomerArchive customerArchive;
+
+    @Override
+    public CustomerBatchResponse processBatch(List<CustomerBatchOperation> operations) {
+        if (operations.size() > batchProperties.getMaxSize()) {
+            throw new BatchTooLargeException(operations.size(), batchProperties.getMaxSize());
+        }
+        log.debug("Processing customer batch of {} operations", operations.size());
+
+        CustomerBatchResult[] results = new CustomerBatchResult[operations.size()];
+        Set<Long> targetIds = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            CustomerBatchOperation operation = operations.get(i);
+            String violation = customerBatchValidator.validate(operation);
+            if (violation != null) {
+                results[i] = new CustomerBatchResult(i, Status.INVALID, operation == null ? null : operation.getId(), violation);
+                continue;
+            }
+            if (operation.getAction() != Action.CREATE) {
+                targetIds.add(operation.getId());
+            }
+            if (operation.getAction() != Action.DELETE) {
+                emails.add(operation.getCustomer().getEmail());
+            }
+        }
+
+        Map<Long, Customer> targets = findTargets(targetIds);
+        Map<Long, String> archivedEmails = findUnrestored(targetIds, targets);
+        Set<String> takenEmails = findExistingEmails(emails);
+        Set<String> claimedEmails = new HashSet<>();
+        List<Customer> inserts = new ArrayList<>();
+        List<Integer> insertIndexes = new ArrayList<>();
+        List<Customer> updatedCustomers = new ArrayList<>();
+        List<CustomerResponse> previousCustomers = new ArrayList<>();
+        List<Customer> deletes = new ArrayList<>();
+        List<Integer> deleteIndexes = new ArrayList<>();
+        int updated = 0;
+        int deleted = 0;
+        int failed = 0;
+
+        for (int i = 0; i < operations.size(); i++) {
+            if (results[i] != null) {
+                failed++;
+                continue;
+            }
+            CustomerBatchOperation operation = operations.get(i);
+            CustomerRequest request = operation.getCustomer();
+            switch (operation.getAction()) {
+                case CREATE -> {
+                    if (takenEmails.contains(request.getEmail()) || !claimedEmails.add(request.getEmail())) {
+                        results[i] = CustomerBatchResult.conflict(i, null, request.getEmail());
+                        failed++;
+                    } else {
+                        inserts.add(new Customer(request.getFirstName(), request.getLastName(), request.getEmail()));
+                        emailIndex.add(request.getEmail());
+                        insertIndexes.add(i);
+                    }
+                }
+                case UPDATE -> {
+                    Customer customer = targets.get(operation.getId());
+                    if (customer == null) {
+                        results[i] = missingTarget(i, operation.getId(), archivedEmails);
+                        failed++;
+                    } else if (staleVersion(customer, operation)) {
+                        results[i] = versionConflict(i, customer, operation);
+                        failed++;
+                    } else if (CustomerService.unchanged(customer, request)) {
+                        results[i] = new CustomerBatchResult(i, Status.UPDATED, customer.getId(), null);
+                        updated++;
+                    } else if (!customer.getEmail().equals(request.getEmail())
+                            && (takenEmails.contains(request.getEmail()) || !claimedEmails.add(request.getEmail()))) {
+                        results[i] = CustomerBatchResult.conflict(i, customer.getId(), request.getEmail());
+                        failed++;
+                    } else {
+                        previousCustomers.add(new CustomerResponse(customer));
+                        customer.setFirstName(request.getFirstName());
+                        customer.setLastName(request.getLastName());
+                        customer.setEmail(request.getEmail());
+                        emailIndex.add(request.getEmail());
+                        updatedCustomers.add(customer);
+                        results[i] = new CustomerBatchResult(i, Status.UPDATED, customer.getId(), null);
+                        updated++;
+                    }
+                }
+                case DELETE -> {
+                    Customer customer = targets.get(operation.getId());
+                    if (customer == null) {
+                        results[i] = missingTarget(i, operation.getId(), archivedEmails);
+                        failed++;
+                    } else if (staleVersion(customer, operation)) {
+                        results[i] = versionConflict(i, customer, operation);
+                        failed++;
+                    } else {
+                        targets.remove(customer.getId());
+                        deletes.add(customer);
+                        deleteIndexes.add(i);
+                    }
+                }
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        for (int i = 0; i < updatedCustomers.size(); i++) {
+            eventPublisher.publishEvent(CustomerChangedEvent.updated(
+                    new CustomerResponse(updatedCustomers.get(i)), previousCustomers.get(i)));
+        }
+        int chunkSize = batchProperties.getChunkSize();
+        for (int from = 0; from < deletes.size(); from += chunkSize) {
+            List<Customer> chunk = deletes.subList(from, Math.min(from + chunkSize, deletes.size()));
+            int[] counts = customerJdbcRepository.softDeleteAll(chunk);
+            for (int j = 0; j < chunk.size(); j++) {
+                int index = deleteIndexes.get(from + j);
+                Customer customer = chunk.get(j);
+                if (counts[j] > 0) {
+                    results[index] = new CustomerBatchResult(index, Status.DELETED, customer.getId(), null);
+                    eventPublisher.publishEvent(CustomerChangedEvent.deleted(new CustomerResponse(customer)));
+                    deleted++;
+                } else {
+                    results[index] = deleteFailure(index, customer);
+                    failed++;
+                }
+            }
+        }
+        for (int from = 0; from < inserts.size(); from += chunkSize) {
+            List<Customer> chunk = inserts.subList(from, Math.min(from + chunkSize, inserts.size()));
+            customerRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        for (int i = 0; i < inserts.size(); i++) {
+            int index = insertIndexes.get(i);
+            Customer customer = inserts.get(i);
+            results[index] = new CustomerBatchResult(index, Status.CREATED, customer.getId(), null);
+            eventPublisher.publishEvent(CustomerChangedEvent.created(new CustomerResponse(customer)));
+        }
+
+        log.info("Customer batch processed: {} created, {} updated, {} deleted, {} failed",
+                inserts.size(), updated, deleted, failed);
+        return new CustomerBatchResponse(operations.size() - failed, failed, Arrays.asList(results));
+    }
+
+    private Map<Long, Customer> findTargets(Set<Long> ids) {
+        Map<Long, Customer> targets = new HashMap<>();
+        for (List<Long> chunk : chunks(ids)) {
+            customerRepository.findAllById(chunk).forEach(customer -> targets.put(customer.getId(), customer));
+        }
+        List<Long> archived = ids.stream().filter(id -> !targets.containsKey(id)).toList();
+        if (!archived.isEmpty() && customerArchive.restoreAll(archived) > 0) {
+            for (List<Long> chunk : chunks(archived)) {
+                customerRepository.findAllById(chunk).forEach(customer -> targets.put(customer.getId(), customer));
+            }
+        }
+        return targets;
+    }
+
+    private Map<Long, String> findUnrestored(Set<Long> ids, Map<Long, Customer> targets) {
+        List<Long> missing = ids.stream().filter(id -> !targets.containsKey(id)).toList();
+        Map<Long, String> emails = new HashMap<>();
+        if (!missing.isEmpty()) {
+            customerArchive.findAll(missing).forEach(customer -> emails.put(customer.getId(), customer.getEmail()));
+        }
+        return emails;
+    }
+
+    private static boolean staleVersion(Customer customer, CustomerBatchOperation operation) {
+        return operation.getVersion() != null && !operation.getVersion().equals(customer.getVersion());
+    }
+
+    private static CustomerBatchResult versionConflict(int index, Customer customer, CustomerBatchOperation operation) {
+        return new CustomerBatchResult(index, Status.CONFLICT, customer.getId(), new PreconditionFailedException(
+                customer.getId(), operation.getVersion(), customer.getVersion()).getMessage());
+    }
+
+    private CustomerBatchResult deleteFailure(int index, Customer customer) {
+        return customerRepository.findById(customer.getId())
+                .map(current -> new CustomerBatchResult(index, Status.CONFLICT, customer.getId(),
+                        new PreconditionFailedException(customer.getId(), customer.getVersion(), current.getVersion())
+                                .getMessage()))
+                .orElseGet(() -> CustomerBatchResult.notFound(index, customer.getId()));
+    }
+
+    private static CustomerBatchResult missingTarget(int index, Long id, Map<Long, String> archivedEmails) {
+        String email = archivedEmails.get(id);
+        return email == null ? CustomerBatchResult.notFound(index, id) : CustomerBatchResult.conflict(index, id, email);
+    }
+
+    private Set<String> findExistingEmails(Set<String> emails) {
+        Set<String> existing = new HashSet<>();
+        for (List<String> chunk : chunks(emails)) {
+            existing.addAll(customerRepository.findExistingEmails(chunk));
+        }
+        return existing;
+    }
+
+    private <T> List<List<T>> chunks(Collection<T> values) {
+        List<T> list = new ArrayList<>(new LinkedHashSet<>(values));
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += batchProperties.getChunkSize()) {
+            chunks.add(list.subList(from, Math.min(from + batchProperties.getChunkSize(), list.size())));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,45 @@
+package ee.lhv.customer.api.service;
+
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.dto.CustomerBatchOperation.Action;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class CustomerBatchValidator {
+
+    private final Validator validator;
+
+    public String validate(CustomerBatchOperation operation) {
+        if (operation == null) {
+            return "Operation is required";
+        }
+        if (operation.getAction() == null) {
+            return "Action is required";
+        }
+        if (operation.getAction() != Action.CREATE && operation.getId() == null) {
+            return "Id is required";
+        }
+        if (operation.getAction() == Action.DELETE) {
+            return null;
+        }
+        if (operation.getCustomer() == null) {
+            return "Customer is required";
+        }
+        Set<ConstraintViolation<CustomerRequest>> violations = validator.validate(operation.getCustomer());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,40 @@
+package ee.lhv.customer.api.service;
+
+import ee.lhv.customer.api.dto.CustomerField;
+import ee.lhv.customer.api.dto.CustomerLookupResponse;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+public interface CustomerOperations {
+
+    CustomerResponse createCustomer(CustomerRequest request);
+
+    CustomerResponse getCustomerById(Long id);
+
+    Optional<CustomerResponse> findCustomerById(Long id);
+
+    CustomerLookupResponse lookupCustomers(List<Long> ids);
+
+    List<CustomerResponse> getCustomers(Long after, int limit);
+
+    List<CustomerResponse> getCustomers(Long after, int limit, Set<CustomerField> fields);
+
+    void streamAllCustomers(Consumer<CustomerResponse> consumer);
+
+    List<CustomerResponse> searchCustomers(String query, int limit, int offset);
+
+    boolean emailExists(String email);
+
+    CustomerResponse updateCustomer(Long id, CustomerRequest request);
+
+    CustomerResponse updateCustomer(Long id, CustomerRequest request, Long expectedVersion);
+
+    void deleteCustomer(Long id);
+
+    void deleteCustomer(Long id, Long expectedVersion);
+}
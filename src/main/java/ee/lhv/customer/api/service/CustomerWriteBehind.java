@@ -0,0 +1,275 @@
+package ee.lhv.customer.api.service;
+
+import ee.lhv.customer.api.config.WriteBehindProperties;
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.dto.CustomerBatchOperation.Action;
+import ee.lhv.customer.api.dto.CustomerBatchResponse;
+import ee.lhv.customer.api.dto.CustomerBatchResult;
+import ee.lhv.customer.api.dto.CustomerBatchResult.Status;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.dto.CustomerUpdateAccepted;
+import ee.lhv.customer.api.exception.EmailAlreadyExistsException;
+import ee.lhv.customer.api.exception.WriteBehindQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@Slf4j
+public class CustomerWriteBehind implements SmartLifecycle {
+
+    private final WriteBehindProperties properties;
+    private final CustomerBatchProcessor customerBatchService;
+    private final CustomerOperations customerService;
+    private final Map<Long, PendingUpdate> pending = new ConcurrentHashMap<>();
+    private final Map<String, Long> pendingEmails = new ConcurrentHashMap<>();
+    private final Semaphore slots;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter failed;
+    private volatile ScheduledExecutorService executor;
+    private volatile boolean running;
+
+    public CustomerWriteBehind(WriteBehindProperties properties, CustomerBatchProcessor customerBatchService,
+                               CustomerOperations customerService, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.customerBatchService = customerBatchService;
+        this.customerService = customerService;
+        this.slots = new Semaphore(properties.getMaxPending());
+        this.coalesced = Counter.builder("customer.write-behind.coalesced")
+                .description("Pending updates replaced by a newer update of the same customer")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("customer.write-behind.rejected")
+                .description("Updates rejected because the write-behind queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("customer.write-behind.failed")
+                .description("Flushed updates that could not be applied and were dropped")
+                .register(meterRegistry);
+        Gauge.builder("customer.write-behind.pending", pending, Map::size)
+                .description("Customers with an update waiting to be flushed")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public CustomerUpdateAccepted submit(Long id, CustomerRequest request) {
+        if (!running) {
+            throw rejected();
+        }
+        CustomerResponse current = customerService.getCustomerById(id);
+        String email = request.getEmail();
+        boolean emailChanged = !current.getEmail().equals(email);
+        if (emailChanged) {
+            Long holder = pendingEmails.putIfAbsent(email, id);
+            if ((holder != null && !holder.equals(id)) || (holder == null && customerService.emailExists(email))) {
+                if (holder == null) {
+                    pendingEmails.remove(email, id);
+                }
+                throw new EmailAlreadyExistsException(email);
+            }
+        }
+        PendingUpdate update = new PendingUpdate(id, request, current.getVersion(),
+                !current.getFirstName().equals(request.getFirstName())
+                        || !current.getLastName().equals(request.getLastName()) || emailChanged);
+        try {
+            pending.compute(id, (key, previous) -> {
+                if (previous == null && !slots.tryAcquire()) {
+                    throw rejected();
+                }
+                if (previous != null) {
+                    coalesced.increment();
+                    if (!previous.getCustomer().getEmail().equals(email)) {
+                        pendingEmails.remove(previous.getCustomer().getEmail(), id);
+                    }
+                }
+                return update;
+            });
+        } catch (WriteBehindQueueFullException e) {
+            if (emailChanged) {
+                pendingEmails.remove(email, id);
+            }
+            throw e;
+        }
+        return new CustomerUpdateAccepted(id, current.getVersion());
+    }
+
+    public PendingUpdate pending(Long id) {
+        return pending.isEmpty() ? null : pending.get(id);
+    }
+
+    public void discard(Long id) {
+        PendingUpdate update = pending.get(id);
+        if (update != null) {
+            release(update);
+        }
+    }
+
+    public int flush() {
+        List<PendingUpdate> batch = new ArrayList<>();
+        for (PendingUpdate update : pending.values()) {
+            batch.add(update);
+            if (batch.size() == properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            apply(batch);
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Write-behind batch of {} updates failed, applying them one by one", batch.size(), e);
+            batch.forEach(this::applyAlone);
+        }
+        log.debug("Flushed {} write-behind updates, {} still pending", batch.size(), pending.size());
+        return batch.size();
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long intervalMillis = properties.getFlushInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("customer-write-behind")
+                .daemon(true)
+                .factory());
+        executor.scheduleWithFixedDelay(this::flushPending, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+        log.info("Write-behind enabled, flushing up to {} updates every {}",
+                properties.getBatchSize(), properties.getFlushInterval());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Write-behind flush did not finish within {}", properties.getShutdownTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushPending();
+        if (!pending.isEmpty()) {
+            log.error("Write-behind stopped with {} unflushed updates", pending.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void apply(List<PendingUpdate> batch) {
+        CustomerBatchResponse response = customerBatchService.processBatch(
+                batch.stream().map(PendingUpdate::toOperation).toList());
+        for (CustomerBatchResult result : response.getResults()) {
+            if (result.getStatus() == Status.UPDATED) {
+                rebaseSuccessor(batch.get(result.getIndex()));
+            } else {
+                failed.increment();
+                log.warn("Write-behind update of customer {} failed: {} {}",
+                        batch.get(result.getIndex()).getCustomerId(), result.getStatus(), result.getMessage());
+            }
+        }
+        batch.forEach(this::release);
+    }
+
+    private void applyAlone(PendingUpdate update) {
+        try {
+            apply(List.of(update));
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            failed.increment();
+            log.error("Dropping write-behind update of customer {}", update.getCustomerId(), e);
+            release(update);
+        }
+    }
+
+    /** An update coalesced during the flush was read at the version the flush just moved past, if it changed the row. */
+    private void rebaseSuccessor(PendingUpdate update) {
+        if (!update.isChanging()) {
+            return;
+        }
+        pending.computeIfPresent(update.getCustomerId(), (key, successor) ->
+                successor != update && Objects.equals(successor.getVersion(), update.getVersion())
+                        ? successor.rebasedOnto(update) : successor);
+    }
+
+    private void release(PendingUpdate update) {
+        if (pending.remove(update.getCustomerId(), update)) {
+            slots.release();
+            pendingEmails.remove(update.getCustomer().getEmail(), update.getCustomerId());
+        }
+    }
+
+    private WriteBehindQueueFullException rejected() {
+        rejected.increment();
+        return new WriteBehindQueueFullException(properties.getMaxPending());
+    }
+
+    private void flushPending() {
+        try {
+            while (flush() == properties.getBatchSize()) {
+                log.debug("Write-behind batch full, flushing again");
+            }
+        } catch (RuntimeException e) {
+            log.error("Write-behind flush failed, {} updates kept for retry", pending.size(), e);
+        }
+    }
+
+    @Value
+    public static class PendingUpdate {
+
+        Long customerId;
+        CustomerRequest customer;
+        Long version;
+        boolean changing;
+
+        public CustomerResponse applyTo(CustomerResponse current) {
+            return new CustomerResponse(current.getId(), customer.getFirstName(), customer.getLastName(),
+                    customer.getEmail(), current.getCreatedDtime(), current.getModifiedDtime(), current.getVersion());
+        }
+
+        PendingUpdate rebasedOnto(PendingUpdate applied) {
+            return new PendingUpdate(customerId, customer, applied.version + 1, !customer.equals(applied.customer));
+        }
+
+        CustomerBatchOperation toOperation() {
+            return new CustomerBatchOperation(Action.UPDATE, customerId, customer, version);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ee.lhv.customer.api.shard;
+
+import ee.lhv.customer.api.config.PagingProperties;
+import ee.lhv.customer.api.repository.CustomerArchiveRepository;
+import ee.lhv.customer.api.repository.CustomerJdbcRepository;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+@Getter
+public class CustomerShard {
+
+    private static final String NEXT_ID_BLOCK = "SELECT NEXT VALUE FOR customers_seq";
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private final int index;
+    private final int shardCount;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerJdbcRepository customerJdbcRepository;
+    private final CustomerArchiveRepository customerArchiveRepository;
+    private long nextSequence;
+    private long sequenceLimit;
+
+    public CustomerShard(int index, int shardCount, DataSource dataSource, PagingProperties pagingProperties) {
+        this.index = index;
+        this.shardCount = shardCount;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.customerJdbcRepository = new CustomerJdbcRepository(jdbcTemplate, pagingProperties);
+        this.customerArchiveRepository = new CustomerArchiveRepository(jdbcTemplate);
+    }
+
+    public synchronized long nextId() {
+        if (nextSequence == sequenceLimit) {
+            nextSequence = jdbcTemplate.queryForObject(NEXT_ID_BLOCK, Long.class);
+            sequenceLimit = nextSequence + ID_BLOCK_SIZE;
+        }
+        return nextSequence++ * shardCount + index;
+    }
+}
@@ -0,0 +1,80 @@
+package ee.lhv.customer.api.shard;
+
+import ee.lhv.customer.api.config.BatchProperties;
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.dto.CustomerBatchResponse;
+import ee.lhv.customer.api.dto.CustomerBatchResult;
+import ee.lhv.customer.api.dto.CustomerBatchResult.Status;
+import ee.lhv.customer.api.exception.BatchTooLargeException;
+import ee.lhv.customer.api.exception.CustomerNotFoundException;
+import ee.lhv.customer.api.exception.EmailAlreadyExistsException;
+import ee.lhv.customer.api.exception.PreconditionFailedException;
+import ee.lhv.customer.api.service.CustomerBatchProcessor;
+import ee.lhv.customer.api.service.CustomerBatchValidator;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Transactional(propagation = Propagation.SUPPORTS)
+@Timed(value = "customer.service", histogram = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedCustomerBatchService implements CustomerBatchProcessor {
+
+    private final ShardedCustomerService customerService;
+    private final CustomerBatchValidator customerBatchValidator;
+    private final BatchProperties batchProperties;
+
+    @Override
+    public CustomerBatchResponse processBatch(List<CustomerBatchOperation> operations) {
+        if (operations.size() > batchProperties.getMaxSize()) {
+            throw new BatchTooLargeException(operations.size(), batchProperties.getMaxSize());
+        }
+        log.debug("Processing sharded customer batch of {} operations", operations.size());
+
+        List<CustomerBatchResult> results = new ArrayList<>(operations.size());
+        int failed = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            CustomerBatchResult result = apply(i, operations.get(i));
+            if (result.getStatus() != Status.CREATED && result.getStatus() != Status.UPDATED
+                    && result.getStatus() != Status.DELETED) {
+                failed++;
+            }
+            results.add(result);
+        }
+        log.info("Sharded customer batch processed: {} succeeded, {} failed", operations.size() - failed, failed);
+        return new CustomerBatchResponse(operations.size() - failed, failed, results);
+    }
+
+    private CustomerBatchResult apply(int index, CustomerBatchOperation operation) {
+        String violation = customerBatchValidator.validate(operation);
+        if (violation != null) {
+            return new CustomerBatchResult(index, Status.INVALID, operation == null ? null : operation.getId(), violation);
+        }
+        try {
+            return switch (operation.getAction()) {
+                case CREATE -> new CustomerBatchResult(index, Status.CREATED,
+                        customerService.createCustomer(operation.getCustomer()).getId(), null);
+                case UPDATE -> new CustomerBatchResult(index, Status.UPDATED,
+                        customerService.updateCustomer(operation.getId(), operation.getCustomer(),
+                                operation.getVersion()).getId(), null);
+                case DELETE -> {
+                    customerService.deleteCustomer(operation.getId(), operation.getVersion());
+                    yield new CustomerBatchResult(index, Status.DELETED, operation.getId(), null);
+                }
+            };
+        } catch (CustomerNotFoundException e) {
+            return CustomerBatchResult.notFound(index, operation.getId());
+        } catch (EmailAlreadyExistsException e) {
+            return new CustomerBatchResult(index, Status.CONFLICT, operation.getId(), e.getMessage());
+        } catch (PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            return new CustomerBatchResult(index, Status.CONFLICT, operation.getId(), e.getMessage());
+        }
+    }
+}
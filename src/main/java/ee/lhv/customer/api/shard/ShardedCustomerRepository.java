@@ -0,0 +1,291 @@
+package ee.lhv.customer.api.shard;
+
+import ee.lhv.customer.api.dto.CustomerField;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.entity.Customer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static ee.lhv.customer.api.repository.CustomerJdbcRepository.CUSTOMER_ROW_MAPPER;
+
+@Slf4j
+public class ShardedCustomerRepository implements Closeable {
+
+    private static final String SELECT_CUSTOMERS =
+            "SELECT id, first_name, last_name, email, created_dtime, modified_dtime, version FROM customers "
+            + "WHERE deleted_dtime IS NULL";
+
+    private static final String SELECT_BY_ID = SELECT_CUSTOMERS + " AND id = ?";
+
+    private static final String SELECT_AFTER = SELECT_CUSTOMERS + " AND id > ? ORDER BY id LIMIT ?";
+
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customers (id, first_name, last_name, email, created_dtime, modified_dtime, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String UPDATE_CUSTOMER =
+            "UPDATE customers SET first_name = ?, last_name = ?, email = ?, modified_dtime = ?, version = version + 1 "
+            + "WHERE id = ? AND version = ? AND deleted_dtime IS NULL";
+
+    private static final String DELETE_CUSTOMER = "UPDATE customers SET deleted_dtime = ?, version = version + 1 "
+            + "WHERE id = ? AND version = ? AND deleted_dtime IS NULL";
+
+    private static final String CLAIM_EMAIL = "INSERT INTO customer_emails (email, customer_id) VALUES (?, ?)";
+
+    private static final String RELEASE_EMAIL = "DELETE FROM customer_emails WHERE email = ? AND customer_id = ?";
+
+    private static final String EMAIL_CLAIMED = "SELECT COUNT(*) FROM customer_emails WHERE email = ?";
+
+    private static final String SELECT_CLAIMS_AFTER =
+            "SELECT email, customer_id FROM customer_emails WHERE email > ? ORDER BY email LIMIT ?";
+
+    private final List<CustomerShard> shards;
+    private final int pageSize;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ShardedCustomerRepository(List<CustomerShard> shards, int pageSize) {
+        this.shards = List.copyOf(shards);
+        this.pageSize = pageSize;
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public CustomerShard shardForId(long id) {
+        return shards.get(Math.floorMod(id, shards.size()));
+    }
+
+    public CustomerShard shardForEmail(String email) {
+        return shards.get(Math.floorMod(email.hashCode(), shards.size()));
+    }
+
+    public Customer insert(Customer customer) {
+        CustomerShard shard = shardForEmail(customer.getEmail());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return shard.getTransactionTemplate().execute(status -> {
+            long id = shard.nextId();
+            shard.getJdbcTemplate().update(CLAIM_EMAIL, customer.getEmail(), id);
+            shard.getJdbcTemplate().update(INSERT_CUSTOMER, id, customer.getFirstName(), customer.getLastName(),
+                    customer.getEmail(), now, now);
+            customer.setId(id);
+            customer.setCreatedDtime(now.toLocalDateTime());
+            customer.setModifiedDtime(now.toLocalDateTime());
+            customer.setVersion(0L);
+            return customer;
+        });
+    }
+
+    public Optional<Customer> findById(long id) {
+        return shardForId(id).getJdbcTemplate().query(SELECT_BY_ID, CUSTOMER_ROW_MAPPER, id).stream().findFirst();
+    }
+
+    public List<Customer> findAllById(Collection<Long> ids) {
+        Map<Integer, List<Long>> idsByShard = ids.stream()
+                .collect(Collectors.groupingBy(id -> shardForId(id).getIndex()));
+        return scatter(shard -> {
+            List<Long> shardIds = idsByShard.get(shard.getIndex());
+            return shardIds == null ? List.<Customer>of() : shard.getCustomerJdbcRepository().findAllById(shardIds);
+        }).stream().flatMap(List::stream).toList();
+    }
+
+    public boolean emailClaimed(String email) {
+        return shardForEmail(email).getJdbcTemplate().queryForObject(EMAIL_CLAIMED, Integer.class, email) > 0;
+    }
+
+    public Customer update(Customer customer, String previousEmail) {
+        boolean emailChanged = !customer.getEmail().equals(previousEmail);
+        if (emailChanged) {
+            claimEmail(customer.getEmail(), customer.getId());
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int updated;
+        try {
+            updated = shardForId(customer.getId()).getJdbcTemplate().update(UPDATE_CUSTOMER,
+                    customer.getFirstName(), customer.getLastName(), customer.getEmail(), now,
+                    customer.getId(), customer.getVersion());
+        } catch (RuntimeException e) {
+            if (emailChanged) {
+                releaseEmail(customer.getEmail(), customer.getId());
+            }
+            throw e;
+        }
+        if (updated == 0) {
+            if (emailChanged) {
+                releaseEmail(customer.getEmail(), customer.getId());
+            }
+            throw new ObjectOptimisticLockingFailureException(Customer.class, customer.getId());
+        }
+        if (emailChanged) {
+            releaseEmail(previousEmail, customer.getId());
+        }
+        customer.setModifiedDtime(now.toLocalDateTime());
+        customer.setVersion(customer.getVersion() + 1);
+        return customer;
+    }
+
+    public void delete(Customer customer) {
+        int deleted = shardForId(customer.getId()).getJdbcTemplate().update(DELETE_CUSTOMER,
+                Timestamp.valueOf(LocalDateTime.now()), customer.getId(), customer.getVersion());
+        if (deleted == 0) {
+            throw new ObjectOptimisticLockingFailureException(Customer.class, customer.getId());
+        }
+        releaseEmail(customer.getEmail(), customer.getId());
+    }
+
+    public int releaseOrphanedEmailClaims() {
+        int released = 0;
+        for (CustomerShard shard : shards) {
+            String after = "";
+            List<Map.Entry<String, Long>> claims;
+            do {
+                claims = shard.getJdbcTemplate().query(SELECT_CLAIMS_AFTER,
+                        (rs, rowNum) -> Map.entry(rs.getString("email"), rs.getLong("customer_id")), after, pageSize);
+                Set<Map.Entry<String, Long>> owned = findOwnedClaims(claims);
+                for (Map.Entry<String, Long> claim : claims) {
+                    if (!owned.contains(claim)) {
+                        log.warn("Releasing email claim of customer {} on shard {} that no customer row holds",
+                                claim.getValue(), shard.getIndex());
+                        released += shard.getJdbcTemplate().update(RELEASE_EMAIL, claim.getKey(), claim.getValue());
+                    }
+                }
+                if (!claims.isEmpty()) {
+                    after = claims.get(claims.size() - 1).getKey();
+                }
+            } while (claims.size() == pageSize);
+        }
+        return released;
+    }
+
+    public List<Customer> findAfter(long after, int limit) {
+        return merge(scatter(shard -> shard.getJdbcTemplate().query(SELECT_AFTER, CUSTOMER_ROW_MAPPER, after, limit)),
+                Customer::getId, 0, limit);
+    }
+
+    public List<CustomerResponse> findAfter(long after, int limit, Set<CustomerField> fields) {
+        return merge(scatter(shard -> shard.getCustomerJdbcRepository().findAfter(after, limit, fields)),
+                CustomerResponse::getId, 0, limit);
+    }
+
+    public void forEachCustomer(Consumer<Customer> consumer) {
+        long after = 0;
+        List<Customer> page;
+        do {
+            page = findAfter(after, pageSize);
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == pageSize);
+    }
+
+    public Map<LocalDate, Long> countByCreatedDate() {
+        return sum(scatter(shard -> List.of(shard.getCustomerJdbcRepository().countByCreatedDate())));
+    }
+
+    public Map<String, Long> countByEmailDomain() {
+        return sum(scatter(shard -> List.of(shard.getCustomerJdbcRepository().countByEmailDomain())));
+    }
+
+    public List<Customer> search(List<String> tokens, int limit, int offset) {
+        return merge(scatter(shard -> shard.getCustomerJdbcRepository().search(tokens, offset + limit, 0)),
+                Customer::getId, offset, limit);
+    }
+
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        for (CustomerShard shard : shards) {
+            if (shard.getDataSource() instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void claimEmail(String email, long customerId) {
+        shardForEmail(email).getJdbcTemplate().update(CLAIM_EMAIL, email, customerId);
+    }
+
+    private void releaseEmail(String email, long customerId) {
+        CustomerShard shard = shardForEmail(email);
+        if (shard.getJdbcTemplate().update(RELEASE_EMAIL, email, customerId) == 0) {
+            log.warn("No email claim for customer {} to release on shard {}", customerId, shard.getIndex());
+        }
+    }
+
+    private Set<Map.Entry<String, Long>> findOwnedClaims(List<Map.Entry<String, Long>> claims) {
+        Map<Integer, List<Long>> idsByShard = claims.stream()
+                .map(Map.Entry::getValue)
+                .collect(Collectors.groupingBy(id -> shardForId(id).getIndex()));
+        Set<Map.Entry<String, Long>> owned = new HashSet<>();
+        idsByShard.forEach((index, ids) -> {
+            CustomerShard shard = shards.get(index);
+            shard.getCustomerJdbcRepository().findAllById(ids)
+                    .forEach(customer -> owned.add(Map.entry(customer.getEmail(), customer.getId())));
+            shard.getCustomerArchiveRepository().findAllById(ids)
+                    .forEach(customer -> owned.add(Map.entry(customer.getEmail(), customer.getId())));
+        });
+        return owned;
+    }
+
+    private <T> List<List<T>> scatter(Function<CustomerShard, List<T>> query) {
+        List<Callable<List<T>>> tasks = shards.stream()
+                .<Callable<List<T>>>map(shard -> () -> query.apply(shard))
+                .toList();
+        List<List<T>> results = new ArrayList<>(shards.size());
+        try {
+            for (Future<List<T>> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while querying customer shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Customer shard query failed", e.getCause());
+        }
+        return results;
+    }
+
+    private static <K> Map<K, Long> sum(List<List<Map<K, Long>>> results) {
+        Map<K, Long> totals = new HashMap<>();
+        results.stream()
+                .flatMap(List::stream)
+                .forEach(counts -> counts.forEach((key, count) -> totals.merge(key, count, Long::sum)));
+        return totals;
+    }
+
+    private static <T> List<T> merge(List<List<T>> results, Function<T, Long> id, int offset, int limit) {
+        return results.stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(id))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+}
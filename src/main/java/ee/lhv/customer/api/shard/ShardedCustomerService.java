@@ -0,0 +1,233 @@
+package ee.lhv.customer.api.shard;
+
+import ee.lhv.customer.api.archive.CustomerArchive;
+import ee.lhv.customer.api.cache.CustomerCache;
+import ee.lhv.customer.api.config.BatchProperties;
+import ee.lhv.customer.api.dto.CustomerField;
+import ee.lhv.customer.api.dto.CustomerLookupResponse;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import ee.lhv.customer.api.exception.BatchTooLargeException;
+import ee.lhv.customer.api.exception.CustomerNotFoundException;
+import ee.lhv.customer.api.exception.EmailAlreadyExistsException;
+import ee.lhv.customer.api.exception.PreconditionFailedException;
+import ee.lhv.customer.api.service.CustomerOperations;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Transactional(propagation = Propagation.SUPPORTS)
+@Timed(value = "customer.service", histogram = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedCustomerService implements CustomerOperations {
+
+    private final ShardedCustomerRepository shardedCustomerRepository;
+    private final CustomerCache customerCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BatchProperties batchProperties;
+    private final CustomerArchive customerArchive;
+
+    @Override
+    public CustomerResponse createCustomer(CustomerRequest request) {
+        log.debug("Creating customer with email: {}", request.getEmail());
+
+        Customer customer;
+        try {
+            customer = shardedCustomerRepository.insert(
+                    new Customer(request.getFirstName(), request.getLastName(), request.getEmail()));
+        } catch (DataIntegrityViolationException e) {
+            throw new EmailAlreadyExistsException(request.getEmail());
+        }
+        log.info("Customer created with id: {}", customer.getId());
+        CustomerResponse response = new CustomerResponse(customer);
+        eventPublisher.publishEvent(CustomerChangedEvent.created(response));
+        return response;
+    }
+
+    @Override
+    public CustomerResponse getCustomerById(Long id) {
+        return findCustomerById(id)
+                .orElseThrow(() -> new CustomerNotFoundException(id));
+    }
+
+    @Override
+    public Optional<CustomerResponse> findCustomerById(Long id) {
+        log.debug("Fetching customer with id: {}", id);
+
+        return customerCache.get(id, this::loadCustomer);
+    }
+
+    @Override
+    public CustomerLookupResponse lookupCustomers(List<Long> ids) {
+        if (ids.size() > batchProperties.getMaxSize()) {
+            throw new BatchTooLargeException(ids.size(), batchProperties.getMaxSize());
+        }
+        log.debug("Looking up {} customers", ids.size());
+
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Optional<CustomerResponse>> loaded = customerCache.getAll(distinctIds, this::loadCustomers);
+        List<CustomerResponse> customers = new ArrayList<>(distinctIds.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : distinctIds) {
+            loaded.getOrDefault(id, Optional.empty()).ifPresentOrElse(customers::add, () -> missing.add(id));
+        }
+        return new CustomerLookupResponse(customers, missing);
+    }
+
+    @Override
+    public List<CustomerResponse> getCustomers(Long after, int limit) {
+        log.debug("Fetching customers after id: {} with limit: {}", after, limit);
+
+        return shardedCustomerRepository.findAfter(after == null ? 0L : after, limit)
+                .stream()
+                .map(CustomerResponse::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<CustomerResponse> getCustomers(Long after, int limit, Set<CustomerField> fields) {
+        log.debug("Fetching customer fields {} after id: {} with limit: {}", fields, after, limit);
+
+        return shardedCustomerRepository.findAfter(after == null ? 0L : after, limit, fields);
+    }
+
+    @Override
+    public void streamAllCustomers(Consumer<CustomerResponse> consumer) {
+        log.debug("Streaming all customers");
+
+        shardedCustomerRepository.forEachCustomer(customer -> consumer.accept(new CustomerResponse(customer)));
+    }
+
+    @Override
+    public List<CustomerResponse> searchCustomers(String query, int limit, int offset) {
+        log.debug("Searching customers with query: {}", query);
+
+        List<String> tokens = searchTokens(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        return shardedCustomerRepository.search(tokens, limit, Math.max(0, offset))
+                .stream()
+                .map(CustomerResponse::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean emailExists(String email) {
+        return shardedCustomerRepository.emailClaimed(email);
+    }
+
+    @Override
+    public CustomerResponse updateCustomer(Long id, CustomerRequest request) {
+        return updateCustomer(id, request, null);
+    }
+
+    @Override
+    public CustomerResponse updateCustomer(Long id, CustomerRequest request, Long expectedVersion) {
+        log.debug("Updating customer with id: {}", id);
+
+        Customer customer = findOrRestore(id);
+        checkVersion(customer, expectedVersion);
+
+        if (unchanged(customer, request)) {
+            log.debug("Customer with id: {} unchanged, skipping update", id);
+            return new CustomerResponse(customer);
+        }
+
+        CustomerResponse previous = new CustomerResponse(customer);
+        customer.setFirstName(request.getFirstName());
+        customer.setLastName(request.getLastName());
+        customer.setEmail(request.getEmail());
+        try {
+            shardedCustomerRepository.update(customer, previous.getEmail());
+        } catch (DataIntegrityViolationException e) {
+            throw new EmailAlreadyExistsException(request.getEmail());
+        }
+        log.info("Customer updated with id: {}", id);
+        CustomerResponse response = new CustomerResponse(customer);
+        eventPublisher.publishEvent(CustomerChangedEvent.updated(response, previous));
+        return response;
+    }
+
+    @Override
+    public void deleteCustomer(Long id) {
+        deleteCustomer(id, null);
+    }
+
+    @Override
+    public void deleteCustomer(Long id, Long expectedVersion) {
+        log.debug("Deleting customer with id: {}", id);
+
+        Customer customer = findOrRestore(id);
+        checkVersion(customer, expectedVersion);
+        shardedCustomerRepository.delete(customer);
+        log.info("Customer deleted with id: {}", id);
+        eventPublisher.publishEvent(CustomerChangedEvent.deleted(new CustomerResponse(customer)));
+    }
+
+    private static List<String> searchTokens(String query) {
+        return Arrays.stream(query.trim().split("\\s+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    private static boolean unchanged(Customer customer, CustomerRequest request) {
+        return customer.getFirstName().equals(request.getFirstName())
+                && customer.getLastName().equals(request.getLastName())
+                && customer.getEmail().equals(request.getEmail());
+    }
+
+    private void checkVersion(Customer customer, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(customer.getVersion())) {
+            throw new PreconditionFailedException(customer.getId(), expectedVersion, customer.getVersion());
+        }
+    }
+
+    private Optional<CustomerResponse> loadCustomer(Long id) {
+        return shardedCustomerRepository.findById(id)
+                .or(() -> customerArchive.find(id))
+                .map(CustomerResponse::new);
+    }
+
+    private Map<Long, Optional<CustomerResponse>> loadCustomers(Set<? extends Long> ids) {
+        Map<Long, Optional<CustomerResponse>> loaded = new HashMap<>();
+        List<Long> pending = new ArrayList<>(ids);
+        int chunkSize = batchProperties.getChunkSize();
+        for (int from = 0; from < pending.size(); from += chunkSize) {
+            shardedCustomerRepository.findAllById(pending.subList(from, Math.min(from + chunkSize, pending.size())))
+                    .forEach(customer -> loaded.put(customer.getId(), Optional.of(new CustomerResponse(customer))));
+        }
+        List<Long> missing = pending.stream().filter(id -> !loaded.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            customerArchive.findAll(missing)
+                    .forEach(customer -> loaded.put(customer.getId(), Optional.of(new CustomerResponse(customer))));
+        }
+        ids.forEach(id -> loaded.putIfAbsent(id, Optional.empty()));
+        return loaded;
+    }
+
+    private Customer findOrRestore(Long id) {
+        return shardedCustomerRepository.findById(id)
+                .or(() -> customerArchive.restore(id) ? shardedCustomerRepository.findById(id) : Optional.empty())
+                .orElseThrow(() -> new CustomerNotFoundException(id));
+    }
+}
@@ -0,0 +1,82 @@
+package ee.lhv.customer.api.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import ee.lhv.customer.api.archive.CustomerArchive;
+import ee.lhv.customer.api.cache.CustomerCache;
+import ee.lhv.customer.api.config.BatchProperties;
+import ee.lhv.customer.api.config.PagingProperties;
+import ee.lhv.customer.api.config.ShardProperties;
+import ee.lhv.customer.api.service.CustomerBatchValidator;
+import io.micrometer.core.instrument.MeterRegistry;
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.ResourceLoader;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(prefix = "customer-api.shards", name = "enabled", havingValue = "true")
+@Slf4j
+public class ShardingConfiguration {
+
+    private static final String SHARD_CHANGE_LOG = "classpath:db/changelog/shard/db.changelog-shard.xml";
+
+    @Bean
+    ShardedCustomerRepository shardedCustomerRepository(ShardProperties properties, PagingProperties pagingProperties,
+                                                        ResourceLoader resourceLoader,
+                                                        MeterRegistry meterRegistry) throws Exception {
+        List<CustomerShard> shards = new ArrayList<>();
+        for (int i = 0; i < properties.getCount(); i++) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("customer-api-shard-" + i);
+            dataSource.setJdbcUrl(properties.resolveUrl(i));
+            dataSource.setUsername(properties.getUsername());
+            dataSource.setPassword(properties.getPassword());
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            SpringLiquibase liquibase = new SpringLiquibase();
+            liquibase.setDataSource(dataSource);
+            liquibase.setChangeLog(SHARD_CHANGE_LOG);
+            liquibase.setResourceLoader(resourceLoader);
+            liquibase.afterPropertiesSet();
+
+            shards.add(new CustomerShard(i, properties.getCount(), dataSource, pagingProperties));
+        }
+        log.info("Storing customers in {} shards", shards.size());
+        ShardedCustomerRepository repository = new ShardedCustomerRepository(shards, pagingProperties.getStreamFetchSize());
+        if (properties.isReleaseOrphanedClaimsOnStartup()) {
+            int released = repository.releaseOrphanedEmailClaims();
+            if (released > 0) {
+                log.info("Released {} orphaned email claims", released);
+            }
+        }
+        return repository;
+    }
+
+    @Bean
+    @Primary
+    ShardedCustomerService shardedCustomerService(ShardedCustomerRepository shardedCustomerRepository,
+                                                  CustomerCache customerCache,
+                                                  ApplicationEventPublisher eventPublisher,
+                                                  BatchProperties batchProperties,
+                                                  CustomerArchive customerArchive) {
+        return new ShardedCustomerService(shardedCustomerRepository, customerCache, eventPublisher, batchProperties,
+                customerArchive);
+    }
+
+    @Bean
+    @Primary
+    ShardedCustomerBatchService shardedCustomerBatchService(ShardedCustomerService shardedCustomerService,
+                                                            CustomerBatchValidator customerBatchValidator,
+                                                            BatchProperties batchProperties) {
+        return new ShardedCustomerBatchService(shardedCustomerService, customerBatchValidator, batchProperties);
+    }
+}
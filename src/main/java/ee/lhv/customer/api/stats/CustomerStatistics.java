@@ -0,0 +1,206 @@
+package ee.lhv.customer.api.stats;
+
+import ee.lhv.customer.api.config.StatsProperties;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.dto.CustomerStatsResponse;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import ee.lhv.customer.api.repository.CustomerJdbcRepository;
+import ee.lhv.customer.api.shard.ShardedCustomerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CustomerStatistics implements SmartLifecycle, MeterBinder {
+
+    private final StatsProperties properties;
+    private final CustomerJdbcRepository customerJdbcRepository;
+    private final ObjectProvider<ShardedCustomerRepository> shardedCustomerRepository;
+    private final LongAdder total = new LongAdder();
+    private final ConcurrentMap<LocalDate, LongAdder> signUpsPerDay = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongAdder> customersPerDomain = new ConcurrentHashMap<>();
+    private volatile LocalDateTime reconciledDtime;
+    private volatile ScheduledExecutorService reconcileExecutor;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED -> count(event.getCustomer(), 1);
+            case UPDATED -> {
+                CustomerResponse previous = event.getPrevious();
+                if (previous != null && !domain(previous.getEmail()).equals(domain(event.getCustomer().getEmail()))) {
+                    counter(customersPerDomain, domain(previous.getEmail())).decrement();
+                    counter(customersPerDomain, domain(event.getCustomer().getEmail())).increment();
+                }
+            }
+            case DELETED -> {
+                if (event.getPrevious() == null) {
+                    total.decrement();
+                } else {
+                    count(event.getPrevious(), -1);
+                }
+            }
+        }
+    }
+
+    public CustomerStatsResponse getStats(LocalDate from, LocalDate to, Integer domains) {
+        LocalDate end = to == null ? LocalDate.now() : to;
+        LocalDate start = from == null ? end.minusDays(properties.getDefaultDays() - 1L) : from;
+        if (start.isBefore(end.minusDays(properties.getMaxDays() - 1L))) {
+            start = end.minusDays(properties.getMaxDays() - 1L);
+        }
+        Map<LocalDate, Long> signUps = new LinkedHashMap<>();
+        for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+            LongAdder counter = signUpsPerDay.get(day);
+            long count = counter == null ? 0 : counter.sum();
+            if (count > 0) {
+                signUps.put(day, count);
+            }
+        }
+
+        int domainLimit = domains == null ? properties.getDefaultDomains()
+                : Math.max(0, Math.min(domains, properties.getMaxDomains()));
+        Map<String, Long> topDomains = new LinkedHashMap<>();
+        customersPerDomain.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(domainLimit)
+                .forEach(entry -> topDomains.put(entry.getKey(), entry.getValue()));
+
+        return new CustomerStatsResponse(total.sum(), signUps, topDomains, reconciledDtime);
+    }
+
+    public void reconcile() {
+        long totalBefore = total.sum();
+        Map<LocalDate, Long> daysBefore = snapshot(signUpsPerDay);
+        Map<String, Long> domainsBefore = snapshot(customersPerDomain);
+
+        ShardedCustomerRepository sharded = shardedCustomerRepository.getIfAvailable();
+        Map<LocalDate, Long> days = sharded == null
+                ? customerJdbcRepository.countByCreatedDate() : sharded.countByCreatedDate();
+        Map<String, Long> domains = sharded == null
+                ? customerJdbcRepository.countByEmailDomain() : sharded.countByEmailDomain();
+
+        long actualTotal = days.values().stream().mapToLong(Long::longValue).sum();
+        boolean totalCorrected = total.sum() == totalBefore && actualTotal != totalBefore;
+        if (totalCorrected) {
+            total.add(actualTotal - totalBefore);
+        }
+        int daysCorrected = correct(signUpsPerDay, daysBefore, days);
+        int domainsCorrected = correct(customersPerDomain, domainsBefore, domains);
+        reconciledDtime = LocalDateTime.now();
+        if (totalCorrected || daysCorrected > 0 || domainsCorrected > 0) {
+            log.info("Customer statistics reconciled: total {} -> {}, {} day and {} domain counters corrected",
+                    totalBefore, actualTotal, daysCorrected, domainsCorrected);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("customer.api.customers.total", total, LongAdder::sum)
+                .description("Customers counted from committed writes, reconciled periodically")
+                .register(registry);
+    }
+
+    @Override
+    public void start() {
+        long intervalMillis = properties.getReconcileInterval().toMillis();
+        reconcileExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("customer-stats-reconcile")
+                .daemon(true)
+                .factory());
+        reconcileExecutor.scheduleWithFixedDelay(this::reconcileSafely, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (reconcileExecutor != null) {
+            reconcileExecutor.shutdownNow();
+            reconcileExecutor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return reconcileExecutor != null;
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.error("Customer statistics reconciliation failed", e);
+        }
+    }
+
+    private void count(CustomerResponse customer, int delta) {
+        total.add(delta);
+        LocalDate day = customer.getCreatedDtime() == null ? LocalDate.now() : customer.getCreatedDtime().toLocalDate();
+        counter(signUpsPerDay, day).add(delta);
+        counter(customersPerDomain, domain(customer.getEmail())).add(delta);
+    }
+
+    private static String domain(String email) {
+        return email.substring(email.indexOf('@') + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static <K> LongAdder counter(ConcurrentMap<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    private static <K> Map<K, Long> snapshot(ConcurrentMap<K, LongAdder> counters) {
+        Map<K, Long> snapshot = new HashMap<>(counters.size());
+        counters.forEach((key, counter) -> snapshot.put(key, counter.sum()));
+        return snapshot;
+    }
+
+    private static <K> int correct(ConcurrentMap<K, LongAdder> counters, Map<K, Long> before, Map<K, Long> actual) {
+        Set<K> keys = new HashSet<>(before.keySet());
+        keys.addAll(actual.keySet());
+        int corrected = 0;
+        for (K key : keys) {
+            long previous = before.getOrDefault(key, 0L);
+            long expected = actual.getOrDefault(key, 0L);
+            LongAdder counter = counter(counters, key);
+            if (counter.sum() != previous) {
+                continue;
+            }
+            if (expected != previous) {
+                counter.add(expected - previous);
+                corrected++;
+            }
+            if (expected == 0) {
+                counters.remove(key, counter);
+            }
+        }
+        return corrected;
+    }
+}
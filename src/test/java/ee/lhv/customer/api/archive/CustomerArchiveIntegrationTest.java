@@ -0,0 +1,227 @@
+package ee.lhv.customer.api.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.dto.CustomerBatchOperation.Action;
+import ee.lhv.customer.api.dto.CustomerBatchResult;
+import ee.lhv.customer.api.dto.CustomerBatchResult.Status;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.repository.CustomerArchiveRepository;
+import ee.lhv.customer.api.repository.CustomerJdbcRepository;
+import ee.lhv.customer.api.service.CustomerBatchService;
+import ee.lhv.customer.api.service.CustomerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "customer-api.archive.enabled=false",
+        "customer-api.archive.batch-size=2",
+        "customer-api.archive.deleted-after=0s"
+})
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class CustomerArchiveIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerBatchService customerBatchService;
+
+    @Autowired
+    private CustomerArchive customerArchive;
+
+    @Autowired
+    private CustomerArchiveRepository customerArchiveRepository;
+
+    @Autowired
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM customer_changes");
+        jdbcTemplate.update("DELETE FROM customers WHERE email LIKE '%@archive.example.com'");
+        jdbcTemplate.update("DELETE FROM customers_archive WHERE email LIKE '%@archive.example.com'");
+    }
+
+    @Test
+    void deleteCustomer_KeepsRowAndReleasesEmail() throws Exception {
+        CustomerResponse customer = create("soft@archive.example.com");
+
+        mockMvc.perform(delete("/customers/{id}", customer.getId()))
+                .andExpect(status().isNoContent());
+
+        assertNotNull(jdbcTemplate.queryForObject(
+                "SELECT deleted_dtime FROM customers WHERE id = ?", Timestamp.class, customer.getId()));
+        mockMvc.perform(get("/customers/{id}", customer.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/customers/{id}", customer.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerRequest("Soft", "Again", "soft@archive.example.com"))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void archive_MovesOnlyDeletedCustomersInBatches() {
+        CustomerResponse active = create("active@archive.example.com");
+        for (int i = 0; i < 3; i++) {
+            customerService.deleteCustomer(create("deleted" + i + "@archive.example.com").getId());
+        }
+        CustomerResponse untouched = create("untouched@archive.example.com");
+        jdbcTemplate.update("UPDATE customers SET modified_dtime = ? WHERE id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusYears(2)), untouched.getId());
+
+        customerArchive.archive();
+
+        assertEquals(2, countCustomers("customers"));
+        assertEquals(3, countCustomers("customers_archive"));
+        assertEquals(List.of(active.getId(), untouched.getId()), jdbcTemplate.queryForList(
+                "SELECT id FROM customers WHERE email LIKE '%@archive.example.com' ORDER BY id", Long.class));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM customers_archive WHERE deleted_dtime IS NOT NULL "
+                + "AND email LIKE '%@archive.example.com'", Integer.class));
+    }
+
+    @Test
+    void archivedCustomer_IsReadFromArchiveAndRestoredOnWrite() throws Exception {
+        CustomerResponse archived = create("dormant@archive.example.com");
+        moveToArchive(archived.getId());
+
+        mockMvc.perform(get("/customers/{id}", archived.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("dormant@archive.example.com"));
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerRequest("Other", "Customer", "dormant@archive.example.com"))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(put("/customers/{id}", archived.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerRequest("Woken", "Up", "dormant@archive.example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Woken"));
+
+        assertEquals(1, countCustomers("customers"));
+        assertEquals(0, countCustomers("customers_archive"));
+    }
+
+    @Test
+    void archivedCustomer_WhoseEmailIsTakenByLiveCustomer_StaysArchivedAndWritesConflict() throws Exception {
+        CustomerResponse dormant = create("taken@archive.example.com");
+        moveToArchive(dormant.getId());
+        CustomerResponse holder = create("holder@archive.example.com");
+        jdbcTemplate.update("UPDATE customers SET email = 'taken@archive.example.com' WHERE id = ?", holder.getId());
+
+        mockMvc.perform(put("/customers/{id}", dormant.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerRequest("Woken", "Up", "woken@archive.example.com"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("EMAIL_ALREADY_EXISTS"));
+        mockMvc.perform(delete("/customers/{id}", dormant.getId()))
+                .andExpect(status().isConflict());
+        List<CustomerBatchResult> results = customerBatchService.processBatch(List.of(
+                new CustomerBatchOperation(Action.UPDATE, dormant.getId(),
+                        new CustomerRequest("Batch", "Update", "batch@archive.example.com")),
+                new CustomerBatchOperation(Action.DELETE, dormant.getId(), null))).getResults();
+
+        assertEquals(List.of(Status.CONFLICT, Status.CONFLICT),
+                results.stream().map(CustomerBatchResult::getStatus).toList());
+        mockMvc.perform(get("/customers/{id}", dormant.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Archive"));
+        assertEquals(1, countCustomers("customers_archive"));
+    }
+
+    @Test
+    void softDeleteAll_OnlyDeletesRowsStillAtTheReadVersion() throws Exception {
+        CustomerResponse changed = create("changed@archive.example.com");
+        CustomerResponse removed = create("removed@archive.example.com");
+        CustomerResponse current = create("current@archive.example.com");
+        List<Customer> read = List.of(changed.getId(), removed.getId(), current.getId()).stream()
+                .map(id -> customerJdbcRepository.findAllById(List.of(id)).get(0))
+                .toList();
+        jdbcTemplate.update("UPDATE customers SET version = version + 1 WHERE id = ?", changed.getId());
+        customerService.deleteCustomer(removed.getId());
+
+        int[] counts = customerJdbcRepository.softDeleteAll(read);
+
+        assertEquals(List.of(0, 0, 1), List.of(counts[0], counts[1], counts[2]));
+        mockMvc.perform(get("/customers/{id}", changed.getId()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void find_SeesCustomersArchivedElsewhereAfterLocalArchival() throws Exception {
+        CustomerResponse local = create("local@archive.example.com");
+        moveToArchive(local.getId());
+        long remoteId = local.getId() + 1000;
+        jdbcTemplate.update("INSERT INTO customers_archive (id, first_name, last_name, email, created_dtime, "
+                + "modified_dtime, version, archived_dtime) VALUES (?, 'Remote', 'Customer', "
+                + "'remote@archive.example.com', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0, CURRENT_TIMESTAMP)",
+                remoteId);
+
+        mockMvc.perform(get("/customers/{id}", remoteId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("remote@archive.example.com"));
+    }
+
+    private CustomerResponse create(String email) {
+        return customerService.createCustomer(new CustomerRequest("Archive", "Customer", email));
+    }
+
+    private void moveToArchive(Long id) {
+        customerArchiveRepository.archive(List.of(id));
+    }
+
+    private int countCustomers(String table) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE email LIKE '%@archive.example.com'", Integer.class);
+    }
+}
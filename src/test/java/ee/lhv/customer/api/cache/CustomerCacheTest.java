@@ -0,0 +1,76 @@
+package ee.lhv.customer.api.cache;
+
+import ee.lhv.customer.api.config.CustomerCacheProperties;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerCacheTest {
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void getAll_UpdateCommittedDuringLoad_DoesNotCacheStaleRow() throws Exception {
+        CustomerCache customerCache = new CustomerCache(new CustomerCacheProperties());
+        CustomerResponse stale = customer(1L, "old@example.com", 0L);
+        CustomerResponse fresh = customer(1L, "new@example.com", 1L);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+
+        CompletableFuture<Map<Long, Optional<CustomerResponse>>> lookup = CompletableFuture.supplyAsync(
+                () -> customerCache.getAll(List.of(1L, 2L), ids -> {
+                    loading.countDown();
+                    await(updated);
+                    return Map.of(1L, Optional.of(stale), 2L, Optional.empty());
+                }), executor);
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        customerCache.invalidate(1L);
+        updated.countDown();
+
+        assertEquals(Optional.of(stale), lookup.get(5, TimeUnit.SECONDS).get(1L));
+        assertEquals(Optional.of(fresh), customerCache.get(1L, id -> Optional.of(fresh)));
+    }
+
+    @Test
+    void getAll_CachesLoadedRowsWithoutConcurrentUpdates() {
+        CustomerCache customerCache = new CustomerCache(new CustomerCacheProperties());
+        CustomerResponse customer = customer(1L, "cached@example.com", 0L);
+
+        customerCache.getAll(List.of(1L, 2L), ids -> Map.of(1L, Optional.of(customer), 2L, Optional.empty()));
+
+        assertEquals(Optional.of(customer), customerCache.get(1L, id -> fail("Loaded a cached customer")));
+        assertEquals(Optional.empty(), customerCache.get(2L, id -> fail("Loaded a cached miss")));
+        assertEquals(2, customerCache.stats().hitCount());
+    }
+
+    private static CustomerResponse customer(Long id, String email, Long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new CustomerResponse(id, "Cached", "Customer", email, now, now, version);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
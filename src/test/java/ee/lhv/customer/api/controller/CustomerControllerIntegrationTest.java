@@ -1,31 +1,64 @@
 package ee.lhv.customer.api.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import ee.lhv.customer.api.cache.CustomerJsonCache;
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.dto.CustomerBatchOperation.Action;
 import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
 import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import ee.lhv.customer.api.outbox.CustomerChangeFeed;
+import ee.lhv.customer.api.outbox.CustomerOutbox;
 import ee.lhv.customer.api.repository.CustomerRepository;
+import ee.lhv.customer.api.stats.CustomerStatistics;
+import ee.lhv.customer.api.service.CustomerService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureWebMvc
+@AutoConfigureObservability
 @Transactional
 @ActiveProfiles("test")
+@RecordApplicationEvents
 class CustomerControllerIntegrationTest {
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @Autowired
     private WebApplicationContext webApplicationContext;
 
@@ -35,6 +68,24 @@ class CustomerControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerOutbox customerOutbox;
+
+    @Autowired
+    private CustomerChangeFeed customerChangeFeed;
+
+    @Autowired
+    private CustomerStatistics customerStatistics;
+
+    @Autowired
+    private CustomerJsonCache customerJsonCache;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -59,6 +110,23 @@ class CustomerControllerIntegrationTest {
                 .andExpect(jsonPath("$.modifiedDtime").exists());
     }
 
+    @Test
+    void getStats_ReturnsReconciledAggregates() throws Exception {
+        customerRepository.save(new Customer("Ada", "Lovelace", "ada@stats.example.com"));
+        customerRepository.save(new Customer("Grace", "Hopper", "grace@stats.example.com"));
+        customerRepository.save(new Customer("Alan", "Turing", "alan@turing.example.com"));
+        customerRepository.flush();
+        customerStatistics.reconcile();
+
+        mockMvc.perform(get("/customers/stats").param("domains", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.signUpsPerDay['" + LocalDate.now() + "']").value(3))
+                .andExpect(jsonPath("$.customersPerDomain.length()").value(1))
+                .andExpect(jsonPath("$.customersPerDomain['stats.example.com']").value(2))
+                .andExpect(jsonPath("$.reconciledDtime").exists());
+    }
+
     @Test
     void createCustomer_ValidationError() throws Exception {
         CustomerRequest request = new CustomerRequest("", "", "invalid-email");
@@ -100,6 +168,88 @@ class CustomerControllerIntegrationTest {
                 .andExpect(jsonPath("$.email").value("test.kasutaja@example.com"));
     }
 
+    @Test
+    void getCustomerById_ServesCachedJsonFragment() throws Exception {
+        Customer savedCustomer = customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+        long hits = customerJsonCache.stats().hitCount();
+
+        String first = mockMvc.perform(get("/customers/{id}", savedCustomer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.CONTENT_LENGTH))
+                .andReturn().getResponse().getContentAsString();
+        String second = mockMvc.perform(get("/customers/{id}", savedCustomer.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, second);
+        assertEquals(objectMapper.writeValueAsString(new CustomerResponse(savedCustomer)), second);
+        assertTrue(customerJsonCache.stats().hitCount() > hits);
+    }
+
+    @Test
+    void getCustomerById_NotModified() throws Exception {
+        Customer savedCustomer = customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+
+        String etag = mockMvc.perform(get("/customers/{id}", savedCustomer.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/customers/{id}", savedCustomer.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCustomerById_ETagDependsOnFormat() throws Exception {
+        Customer savedCustomer = customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+
+        String json = mockMvc.perform(get("/customers/{id}", savedCustomer.getId()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cbor = mockMvc.perform(get("/customers/{id}", savedCustomer.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertEquals("\"" + savedCustomer.getVersion() + "\"", json);
+        assertEquals("\"" + savedCustomer.getVersion() + "-cbor\"", cbor);
+        mockMvc.perform(get("/customers/{id}", savedCustomer.getId())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/customers/{id}", savedCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, cbor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerRequest("Test", "Updated", "test.kasutaja@example.com"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getCustomerById_RecordsMetrics() throws Exception {
+        Customer savedCustomer = customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+        double notFoundBefore = meterRegistry.counter("customer.api.errors",
+                "status", "404", "code", "CUSTOMER_NOT_FOUND").count();
+
+        mockMvc.perform(get("/customers/{id}", savedCustomer.getId() + 1000))
+                .andExpect(status().isNotFound());
+
+        assertEquals(notFoundBefore + 1, meterRegistry.counter("customer.api.errors",
+                "status", "404", "code", "CUSTOMER_NOT_FOUND").count());
+        assertTrue(meterRegistry.get("customer.api.request.statements")
+                .tags("method", "GET", "uri", "/customers/{id}").summary().totalAmount() >= 1);
+        assertTrue(meterRegistry.get("customer.service")
+                .tags("class", CustomerService.class.getName(), "method", "findCustomerById").timer().count() >= 1);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("customer_api_request_statements")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"customers\"")));
+    }
+
     @Test
     void getCustomerById_NotFound() throws Exception {
         mockMvc.perform(get("/customers/{id}", 999L))
@@ -121,6 +271,275 @@ class CustomerControllerIntegrationTest {
                 .andExpect(jsonPath("$[1].firstName").value("Test2"));
     }
 
+    @Test
+    void getAllCustomers_Paginated() throws Exception {
+        Customer customer1 = customerRepository.save(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+        customerRepository.save(new Customer("Test2", "Kasutaja2", "test2.kasutaja2@example.com"));
+
+        mockMvc.perform(get("/customers").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].firstName").value("Test"))
+                .andExpect(header().string(HttpHeaders.LINK,
+                        containsString("after=" + customer1.getId())));
+
+        mockMvc.perform(get("/customers").param("after", customer1.getId().toString()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].firstName").value("Test2"));
+    }
+
+    @Test
+    void getAllCustomers_LastPageHasNoNextLink() throws Exception {
+        customerRepository.save(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+
+        mockMvc.perform(get("/customers").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+    }
+
+    @Test
+    void getAllCustomers_FieldsProjection() throws Exception {
+        customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+
+        mockMvc.perform(get("/customers").param("fields", "email,version"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].email").value("test.kasutaja@example.com"))
+                .andExpect(jsonPath("$[0].version").value(0))
+                .andExpect(jsonPath("$[0].firstName").doesNotExist())
+                .andExpect(jsonPath("$[0].createdDtime").doesNotExist())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void getCustomerById_FieldsProjection() throws Exception {
+        Customer savedCustomer = customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+
+        mockMvc.perform(get("/customers/{id}", savedCustomer.getId()).param("fields", "firstName"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(savedCustomer.getId()))
+                .andExpect(jsonPath("$.firstName").value("Test"))
+                .andExpect(jsonPath("$.email").doesNotExist());
+
+        mockMvc.perform(get("/customers/{id}", savedCustomer.getId()).param("fields", "firstName,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_FIELDS"));
+    }
+
+    @Test
+    void getCustomers_BinaryFormats() throws Exception {
+        Customer savedCustomer = customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+
+        byte[] cbor = mockMvc.perform(get("/customers/{id}", savedCustomer.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] smile = mockMvc.perform(get("/customers").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode customer = new CBORMapper().readTree(cbor);
+        assertEquals("test.kasutaja@example.com", customer.get("email").asText());
+        assertEquals(objectMapper.valueToTree(savedCustomer.getCreatedDtime()).asText(),
+                customer.get("createdDtime").asText());
+        assertEquals("Kasutaja", new SmileMapper().readTree(smile).get(0).get("lastName").asText());
+    }
+
+    @Test
+    void getCustomersByIds_KeepsOrderAndReportsMissing() throws Exception {
+        Customer first = customerRepository.save(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+        Customer second = customerRepository.saveAndFlush(new Customer("Test2", "Kasutaja2", "test2.kasutaja2@example.com"));
+        long missing = second.getId() + 1000;
+
+        mockMvc.perform(get("/customers").param("ids", second.getId() + "," + missing + "," + first.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers", hasSize(2)))
+                .andExpect(jsonPath("$.customers[0].id").value(second.getId()))
+                .andExpect(jsonPath("$.customers[1].id").value(first.getId()))
+                .andExpect(jsonPath("$.missing[0]").value(missing));
+
+        mockMvc.perform(post("/customers/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(first.getId(), missing))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers", hasSize(1)))
+                .andExpect(jsonPath("$.customers[0].email").value("test.kasutaja@example.com"))
+                .andExpect(jsonPath("$.missing[0]").value(missing));
+    }
+
+    @Test
+    void streamCustomers_Ndjson() throws Exception {
+        customerRepository.save(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+        customerRepository.saveAndFlush(new Customer("Test2", "Kasutaja2", "test2.kasutaja2@example.com"));
+
+        String body = mockMvc.perform(get("/customers").accept("application/x-ndjson"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("Test", objectMapper.readTree(lines[0]).get("firstName").asText());
+        assertEquals("Test2", objectMapper.readTree(lines[1]).get("firstName").asText());
+    }
+
+    @Test
+    void processBatch_MixedOperations() throws Exception {
+        Customer existing = customerRepository.save(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+        Customer removed = customerRepository.save(new Customer("Test2", "Kasutaja2", "test2.kasutaja2@example.com"));
+
+        List<CustomerBatchOperation> operations = List.of(
+                new CustomerBatchOperation(Action.CREATE, null, new CustomerRequest("New", "Kasutaja", "new@example.com")),
+                new CustomerBatchOperation(Action.CREATE, null, new CustomerRequest("Dup", "Kasutaja", "new@example.com")),
+                new CustomerBatchOperation(Action.CREATE, null, new CustomerRequest("Taken", "Kasutaja", "test.kasutaja@example.com")),
+                new CustomerBatchOperation(Action.UPDATE, existing.getId(), new CustomerRequest("Test", "Updated", "test.updated@example.com")),
+                new CustomerBatchOperation(Action.DELETE, removed.getId(), null),
+                new CustomerBatchOperation(Action.DELETE, 999L, null),
+                new CustomerBatchOperation(Action.CREATE, null, new CustomerRequest("", "Kasutaja", "invalid-email")));
+
+        mockMvc.perform(post("/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(3))
+                .andExpect(jsonPath("$.failed").value(4))
+                .andExpect(jsonPath("$.results", hasSize(7)))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].id").exists())
+                .andExpect(jsonPath("$.results[1].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.results[2].status").value("CONFLICT"))
+                .andExpect(jsonPath("$.results[3].status").value("UPDATED"))
+                .andExpect(jsonPath("$.results[4].status").value("DELETED"))
+                .andExpect(jsonPath("$.results[5].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.results[6].status").value("INVALID"));
+
+        assertEquals("Updated", customerRepository.findById(existing.getId()).orElseThrow().getLastName());
+        assertFalse(customerRepository.existsById(removed.getId()));
+        assertTrue(customerRepository.existsByEmail("new@example.com"));
+    }
+
+    @Test
+    void processBatch_UnchangedUpdate_PublishesNoChange() throws Exception {
+        Customer existing = customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+        long version = existing.getVersion();
+        applicationEvents.clear();
+
+        mockMvc.perform(post("/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new CustomerBatchOperation(Action.UPDATE,
+                                existing.getId(), new CustomerRequest("Test", "Kasutaja", "test.kasutaja@example.com"))))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("UPDATED"));
+
+        assertEquals(0, applicationEvents.stream(CustomerChangedEvent.class).count());
+        assertEquals(version, customerRepository.findById(existing.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void processBatch_CreatesManyCustomers() throws Exception {
+        List<CustomerBatchOperation> operations = IntStream.range(0, 250)
+                .mapToObj(i -> new CustomerBatchOperation(Action.CREATE, null,
+                        new CustomerRequest("Test" + i, "Kasutaja", "test" + i + "@example.com")))
+                .toList();
+
+        mockMvc.perform(post("/customers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(operations)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded").value(250))
+                .andExpect(jsonPath("$.failed").value(0));
+
+        assertEquals(250, customerRepository.count());
+    }
+
+    @Test
+    void getChanges_ReturnsCommittedChanges() throws Exception {
+        customerChangeFeed.publish();
+        Long since = jdbcTemplate.queryForObject("SELECT last_sequence FROM customer_change_feed", Long.class);
+        CustomerRequest request = new CustomerRequest("Test", "Kasutaja", "test.changes@example.com");
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+
+        try {
+            MvcResult result = mockMvc.perform(get("/customers/changes")
+                            .param("since", String.valueOf(since))
+                            .param("wait", "0"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            String body = mockMvc.perform(asyncDispatch(result))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.changes", hasSize(1)))
+                    .andExpect(jsonPath("$.changes[0].type").value("CREATED"))
+                    .andExpect(jsonPath("$.changes[0].customer.email").value("test.changes@example.com"))
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode changes = objectMapper.readTree(body);
+            assertEquals(changes.at("/changes/0/sequence").asLong(), changes.get("next").asLong());
+            assertTrue(changes.get("next").asLong() > since);
+        } finally {
+            TestTransaction.start();
+            jdbcTemplate.update("DELETE FROM customers WHERE email = ?", "test.changes@example.com");
+            jdbcTemplate.update("DELETE FROM customer_changes WHERE feed_sequence > ?", since);
+            TestTransaction.flagForCommit();
+            TestTransaction.end();
+        }
+    }
+
+    @Test
+    void outboxCleanup_RemovesSupersededChanges() {
+        Long since = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(sequence), 0) FROM customer_changes", Long.class);
+        String insert = "INSERT INTO customer_changes (customer_id, change_type, payload, changed_dtime) "
+                + "VALUES (?, ?, NULL, DATEADD('HOUR', ?, CURRENT_TIMESTAMP))";
+        jdbcTemplate.update(insert, -1L, "CREATED", -3);
+        jdbcTemplate.update(insert, -1L, "UPDATED", -2);
+        jdbcTemplate.update(insert, -1L, "UPDATED", 0);
+        jdbcTemplate.update(insert, -2L, "CREATED", -3);
+
+        assertEquals(2, customerOutbox.cleanup());
+
+        List<String> remaining = jdbcTemplate.queryForList(
+                "SELECT change_type FROM customer_changes WHERE sequence > ? ORDER BY sequence", String.class, since);
+        assertEquals(List.of("UPDATED", "CREATED"), remaining);
+    }
+
+    @Test
+    void searchCustomers_PrefixAndTokens() throws Exception {
+        customerRepository.save(new Customer("Mari", "Maasikas", "mari.maasikas@example.com"));
+        customerRepository.save(new Customer("Mart", "Kask", "mart.kask@example.com"));
+        customerRepository.saveAndFlush(new Customer("Jaan", "Tamm", "jaan_tamm@example.com"));
+
+        mockMvc.perform(get("/customers/search").param("q", "MAR"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].firstName").value("Mari"))
+                .andExpect(jsonPath("$[1].firstName").value("Mart"));
+
+        mockMvc.perform(get("/customers/search").param("q", "mar kas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].lastName").value("Kask"));
+
+        mockMvc.perform(get("/customers/search").param("q", "mar").param("limit", "1").param("offset", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].firstName").value("Mart"));
+
+        mockMvc.perform(get("/customers/search").param("q", "jaan_"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(get("/customers/search").param("q", "%"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     void updateCustomer_Success() throws Exception {
         Customer customer = new Customer("Test", "Kasutaja", "test.kasutaja@example.com");
@@ -138,6 +557,35 @@ class CustomerControllerIntegrationTest {
                 .andExpect(jsonPath("$.email").value("test.updated@example.com"));
     }
 
+    @Test
+    void updateCustomer_IfMatch() throws Exception {
+        Customer savedCustomer = customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+        long version = savedCustomer.getVersion();
+        CustomerRequest updateRequest = new CustomerRequest("Test", "Updated", "test.updated@example.com");
+
+        mockMvc.perform(put("/customers/{id}", savedCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (version + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(put("/customers/{id}", savedCustomer.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + version + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + (version + 1) + "\""))
+                .andExpect(jsonPath("$.lastName").value("Updated"));
+    }
+
+    @Test
+    void deleteCustomer_IfMatchStale() throws Exception {
+        Customer savedCustomer = customerRepository.saveAndFlush(new Customer("Test", "Kasutaja", "test.kasutaja@example.com"));
+
+        mockMvc.perform(delete("/customers/{id}", savedCustomer.getId()).header(HttpHeaders.IF_MATCH, "\"42\""))
+                .andExpect(status().isPreconditionFailed());
+    }
+
     @Test
     void updateCustomer_NotFound() throws Exception {
         CustomerRequest updateRequest = new CustomerRequest("Test", "Updated", "test.updated@example.com");
@@ -152,7 +600,7 @@ class CustomerControllerIntegrationTest {
     @Test
     void deleteCustomer_Success() throws Exception {
         Customer customer = new Customer("Test", "Kasutaja", "test.kasutaja@example.com");
-        Customer savedCustomer = customerRepository.save(customer);
+        Customer savedCustomer = customerRepository.saveAndFlush(customer);
 
         mockMvc.perform(delete("/customers/{id}", savedCustomer.getId()))
                 .andExpect(status().isNoContent());
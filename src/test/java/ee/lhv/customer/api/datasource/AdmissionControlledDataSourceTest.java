@@ -0,0 +1,79 @@
+package ee.lhv.customer.api.datasource;
+
+import ee.lhv.customer.api.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControlledDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdmissionLimiter limiter;
+    private AdmissionControlledDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdmissionLimiter(1, 0, Duration.ofMillis(10), meterRegistry);
+        dataSource = new AdmissionControlledDataSource(targetDataSource, limiter);
+    }
+
+    @Test
+    void getConnection_PermitReleasedOnClose() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+
+        Connection first = dataSource.getConnection();
+        assertEquals(1, limiter.active());
+        first.close();
+        first.close();
+
+        assertEquals(0, limiter.active());
+        verify(connection, times(1)).close();
+    }
+
+    @Test
+    void getConnection_RejectedWhenQueueFull() throws SQLException {
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+
+        assertThrows(AdmissionRejectedException.class, () -> dataSource.getConnection());
+        assertEquals(1.0, meterRegistry.get("customer.db.admission.rejected").counter().count());
+    }
+
+    @Test
+    void getConnection_RejectedAfterTimeout() throws SQLException {
+        limiter = new AdmissionLimiter(1, 10, Duration.ofMillis(10), new SimpleMeterRegistry());
+        dataSource = new AdmissionControlledDataSource(targetDataSource, limiter);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        dataSource.getConnection();
+
+        assertThrows(AdmissionRejectedException.class, () -> dataSource.getConnection());
+        assertEquals(0, limiter.waiting());
+    }
+
+    @Test
+    void getConnection_PermitReleasedWhenPoolFails() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+        assertThrows(SQLException.class, () -> dataSource.getConnection());
+        assertEquals(0, limiter.active());
+    }
+}
@@ -0,0 +1,59 @@
+package ee.lhv.customer.api.datasource;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiquibaseFingerprintConfigurationTest {
+
+    private final DataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:fingerprint-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    private final BeanPostProcessor postProcessor = LiquibaseFingerprintConfiguration.liquibaseFingerprintPostProcessor();
+
+    @Test
+    void liquibase_SkippedWhenSchemaIsCurrent() throws Exception {
+        SpringLiquibase first = initialize(liquibase());
+        assertTrue((Boolean) ReflectionTestUtils.getField(first, "shouldRun"));
+        assertEquals(LiquibaseFingerprintConfiguration.fingerprint(), new JdbcTemplate(dataSource)
+                .queryForObject("SELECT fingerprint FROM customer_api_schema_fingerprint", String.class));
+
+        SpringLiquibase second = initialize(liquibase());
+        assertFalse((Boolean) ReflectionTestUtils.getField(second, "shouldRun"));
+    }
+
+    @Test
+    void liquibase_RunsWhenFingerprintDiffers() throws Exception {
+        initialize(liquibase());
+        new JdbcTemplate(dataSource).update("UPDATE customer_api_schema_fingerprint SET fingerprint = 'stale'");
+
+        SpringLiquibase rerun = initialize(liquibase());
+
+        assertTrue((Boolean) ReflectionTestUtils.getField(rerun, "shouldRun"));
+        assertEquals(LiquibaseFingerprintConfiguration.fingerprint(), new JdbcTemplate(dataSource)
+                .queryForObject("SELECT fingerprint FROM customer_api_schema_fingerprint", String.class));
+    }
+
+    private SpringLiquibase liquibase() {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        return liquibase;
+    }
+
+    private SpringLiquibase initialize(SpringLiquibase liquibase) throws Exception {
+        postProcessor.postProcessBeforeInitialization(liquibase, "liquibase");
+        liquibase.afterPropertiesSet();
+        postProcessor.postProcessAfterInitialization(liquibase, "liquibase");
+        return liquibase;
+    }
+}
@@ -0,0 +1,120 @@
+package ee.lhv.customer.api.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaPoolTest {
+
+    @Mock
+    private DataSource primary;
+
+    @Mock
+    private DataSource firstReplica;
+
+    @Mock
+    private DataSource secondReplica;
+
+    @Mock
+    private Connection primaryConnection;
+
+    @Mock
+    private Connection firstConnection;
+
+    @Mock
+    private Connection secondConnection;
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void getConnection_BalancesAcrossReplicas() throws SQLException {
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+        ReplicaPool pool = new ReplicaPool(primary, List.of(firstReplica, secondReplica));
+
+        assertSame(firstConnection, pool.getConnection());
+        assertSame(secondConnection, pool.getConnection());
+        assertSame(firstConnection, pool.getConnection());
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnection_EjectsFailingReplica() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLException("replica down"));
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+        ReplicaPool pool = new ReplicaPool(primary, List.of(firstReplica, secondReplica));
+
+        assertSame(secondConnection, pool.getConnection());
+        assertSame(secondConnection, pool.getConnection());
+        assertEquals(1, pool.healthyReplicas());
+        verify(firstReplica, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_AllReplicasDown_UsesPrimary() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLException("replica down"));
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaPool pool = new ReplicaPool(primary, List.of(firstReplica));
+
+        assertSame(primaryConnection, pool.getConnection());
+        assertEquals(0, pool.healthyReplicas());
+    }
+
+    @Test
+    void checkHealth_ReadmitsRecoveredReplica() throws SQLException {
+        when(firstReplica.getConnection())
+                .thenThrow(new SQLException("replica down"))
+                .thenReturn(firstConnection);
+        when(firstConnection.isValid(anyInt())).thenReturn(true);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaPool pool = new ReplicaPool(primary, List.of(firstReplica));
+        pool.getConnection();
+
+        pool.checkHealth();
+
+        assertEquals(1, pool.healthyReplicas());
+    }
+
+    @Test
+    void getConnectionWithCredentials_DelegatesToReplica() throws SQLException {
+        when(firstReplica.getConnection("reader", "secret")).thenReturn(firstConnection);
+        ReplicaPool pool = new ReplicaPool(primary, List.of(firstReplica));
+
+        assertSame(firstConnection, pool.getConnection("reader", "secret"));
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void getConnectionWithCredentials_NotSupported_KeepsReplica() throws SQLException {
+        when(firstReplica.getConnection("reader", "secret")).thenThrow(new SQLFeatureNotSupportedException());
+        ReplicaPool pool = new ReplicaPool(primary, List.of(firstReplica));
+
+        assertThrows(SQLFeatureNotSupportedException.class, () -> pool.getConnection("reader", "secret"));
+        assertEquals(1, pool.healthyReplicas());
+    }
+
+    @Test
+    void getConnection_ReadYourWrites_UsesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaPool pool = new ReplicaPool(primary, List.of(firstReplica));
+        ReadYourWrites.requirePrimary();
+
+        assertSame(primaryConnection, pool.getConnection());
+        verifyNoInteractions(firstReplica);
+    }
+}
@@ -0,0 +1,127 @@
+package ee.lhv.customer.api.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.cache.CustomerCache;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.service.CustomerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "customer-api.replicas.enabled=true",
+        "customer-api.replicas.nodes[0].url=jdbc:h2:mem:replica-test;DB_CLOSE_DELAY=-1",
+        "customer-api.replicas.nodes[0].username=sa",
+        "customer-api.replicas.nodes[0].password=",
+        "customer-api.replicas.initialize-schema=true",
+        "customer-api.replicas.read-your-writes-window=10s"
+})
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    private static final String REPLICA_EMAIL = "only.on.replica@example.com";
+    private static final String PRIMARY_EMAIL = "written.to.primary@example.com";
+
+    private final JdbcTemplate replica = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:replica-test;DB_CLOSE_DELAY=-1", "sa", ""));
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private CustomerCache customerCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(readYourWritesFilter.getFilter())
+                .build();
+        replica.update("INSERT INTO customers (id, first_name, last_name, email, created_dtime, modified_dtime) "
+                + "VALUES (NEXT VALUE FOR customers_seq, 'Replica', 'Only', ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                REPLICA_EMAIL);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.update("DELETE FROM customers");
+        jdbcTemplate.update("DELETE FROM customer_changes WHERE customer_id IN "
+                + "(SELECT id FROM customers WHERE email = ?)", PRIMARY_EMAIL);
+        jdbcTemplate.update("DELETE FROM customers WHERE email = ?", PRIMARY_EMAIL);
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        List<CustomerResponse> customers = customerService.getCustomers(null, 100);
+
+        assertTrue(customers.stream().anyMatch(customer -> REPLICA_EMAIL.equals(customer.getEmail())));
+    }
+
+    @Test
+    void cachedRead_LoadsFromPrimary() {
+        CustomerResponse created = customerService.createCustomer(new CustomerRequest("Primary", "Write", PRIMARY_EMAIL));
+
+        assertEquals(PRIMARY_EMAIL, customerService.getCustomerById(created.getId()).getEmail());
+        customerCache.invalidate(created.getId());
+        assertEquals(List.of(created.getId()),
+                customerService.lookupCustomers(List.of(created.getId())).getCustomers().stream()
+                        .map(CustomerResponse::getId).toList());
+    }
+
+    @Test
+    void readAfterWrite_SameClientUsesPrimary() throws Exception {
+        mockMvc.perform(post("/customers")
+                        .header("X-Api-Key", "writer")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerRequest("Primary", "Write", PRIMARY_EMAIL))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/customers").header("X-Api-Key", "writer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].email", hasItem(PRIMARY_EMAIL)))
+                .andExpect(jsonPath("$[*].email", not(hasItem(REPLICA_EMAIL))));
+
+        mockMvc.perform(get("/customers").header("X-Api-Key", "reader"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].email", hasItem(REPLICA_EMAIL)))
+                .andExpect(jsonPath("$[*].email", not(hasItem(PRIMARY_EMAIL))));
+    }
+}
@@ -0,0 +1,104 @@
+package ee.lhv.customer.api.format;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.cache.CustomerJsonCache;
+import ee.lhv.customer.api.config.JsonCacheProperties;
+import ee.lhv.customer.api.dto.CustomerField;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerJsonHttpMessageConverterTest {
+
+    private static final Type CUSTOMER_LIST = new TypeReference<List<CustomerResponse>>() {
+    }.getType();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private CustomerJsonCache customerJsonCache;
+    private CustomerJsonHttpMessageConverter converter;
+
+    @BeforeEach
+    void setUp() {
+        customerJsonCache = new CustomerJsonCache(new JsonCacheProperties(), objectMapper);
+        converter = new CustomerJsonHttpMessageConverter(customerJsonCache);
+    }
+
+    @Test
+    void write_MatchesJacksonOutputForSingleAndList() throws IOException {
+        CustomerResponse first = customer(1L, "Ada \"Countess\"", 0L);
+        CustomerResponse second = customer(2L, "Jüri", 3L);
+
+        MockHttpOutputMessage single = write(first, CustomerResponse.class);
+        MockHttpOutputMessage list = write(List.of(first, second), CUSTOMER_LIST);
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(first), single.getBodyAsBytes());
+        assertArrayEquals(objectMapper.writeValueAsBytes(List.of(first, second)), list.getBodyAsBytes());
+        assertEquals(list.getBodyAsBytes().length, list.getHeaders().getContentLength());
+        assertEquals(MediaType.APPLICATION_JSON, list.getHeaders().getContentType());
+    }
+
+    @Test
+    void json_ReusesFragmentUntilCustomerChanges() {
+        CustomerResponse customer = customer(1L, "Ada", 0L);
+        byte[] json = customerJsonCache.json(customer);
+
+        assertSame(json, customerJsonCache.json(customer));
+        assertSame(json, customerJsonCache.json(customer(1L, "Ada", 0L)));
+        assertNotSame(json, customerJsonCache.json(customer(1L, "Ada", 1L)));
+
+        byte[] updated = customerJsonCache.json(customer(1L, "Ada", 1L));
+        customerJsonCache.onCustomerChanged(CustomerChangedEvent.deleted(1L));
+        assertNotSame(updated, customerJsonCache.json(customer(1L, "Ada", 1L)));
+    }
+
+    @Test
+    void json_DoesNotCacheProjections() throws IOException {
+        CustomerResponse customer = customer(1L, "Ada", 0L);
+        customerJsonCache.json(customer);
+        CustomerResponse projected = customer.project(Set.of(CustomerField.EMAIL));
+
+        assertArrayEquals(objectMapper.writeValueAsBytes(projected), customerJsonCache.json(projected));
+        assertArrayEquals(objectMapper.writeValueAsBytes(customer), customerJsonCache.json(customer));
+        assertEquals(1, customerJsonCache.stats().hitCount());
+    }
+
+    @Test
+    void canWrite_OnlyCustomerJson() {
+        assertTrue(converter.canWrite(CustomerResponse.class, CustomerResponse.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(CUSTOMER_LIST, List.class, null));
+        assertFalse(converter.canWrite(CUSTOMER_LIST, List.class, MediaType.APPLICATION_CBOR));
+        assertFalse(converter.canWrite(new TypeReference<List<Long>>() {
+        }.getType(), List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(CustomerResponse.class, null, MediaType.APPLICATION_JSON));
+    }
+
+    private MockHttpOutputMessage write(Object value, Type type) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(value, type, MediaType.APPLICATION_JSON, message);
+        return message;
+    }
+
+    private static CustomerResponse customer(Long id, String firstName, Long version) {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000);
+        return new CustomerResponse(id, firstName, "Kasutaja", "test" + id + "@example.com", created,
+                created.plusSeconds(version), version);
+    }
+}
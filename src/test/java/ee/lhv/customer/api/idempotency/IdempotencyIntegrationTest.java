@@ -0,0 +1,297 @@
+package ee.lhv.customer.api.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.config.IdempotencyProperties;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.repository.CustomerRepository;
+import ee.lhv.customer.api.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "customer-api.idempotency.persistent=true")
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private IdempotencyProperties idempotencyProperties;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM customer_changes");
+        jdbcTemplate.update("DELETE FROM customers WHERE email LIKE '%@idempotency.example.com'");
+        jdbcTemplate.update("DELETE FROM idempotency_keys");
+    }
+
+    @Test
+    void createCustomer_SameKeyTwice_ReplaysFirstResponseWithoutCreatingAgain() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String email = key + "@idempotency.example.com";
+        String body = objectMapper.writeValueAsString(new CustomerRequest("Idem", "Potent", email));
+        long before = customerRepository.count();
+
+        String first = mockMvc.perform(post("/customers")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.IDEMPOTENT_REPLAYED))
+                .andExpect(jsonPath("$.email").value(email))
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/customers")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(content().json(first, true));
+
+        assertEquals(before + 1, customerRepository.count());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM idempotency_keys WHERE id LIKE ?", Integer.class, "% " + key));
+    }
+
+    @Test
+    void createCustomer_SameKeyDifferentPayload_Returns422() throws Exception {
+        String key = UUID.randomUUID().toString();
+
+        mockMvc.perform(post("/customers")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerRequest("Idem", "Potent", "a-" + key + "@idempotency.example.com"))))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/customers")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerRequest("Idem", "Potent", "b-" + key + "@idempotency.example.com"))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.code").value("IDEMPOTENCY_KEY_REUSED"));
+    }
+
+    @Test
+    void createCustomer_FailedRequest_IsNotStoredAndCanBeRetried() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String email = key + "@idempotency.example.com";
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("Taken", "Email", email))))
+                .andExpect(status().isCreated());
+        String body = objectMapper.writeValueAsString(new CustomerRequest("Idem", "Potent", email));
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            mockMvc.perform(post("/customers")
+                            .header(IdempotencyStore.IDEMPOTENCY_KEY, key)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isConflict())
+                    .andExpect(header().doesNotExist(IdempotencyStore.IDEMPOTENT_REPLAYED));
+        }
+    }
+
+    @Test
+    void createCustomer_InvalidKey_Returns400() throws Exception {
+        mockMvc.perform(post("/customers")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY, "x".repeat(256))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new CustomerRequest("Idem", "Potent", UUID.randomUUID() + "@idempotency.example.com"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_IDEMPOTENCY_KEY"));
+    }
+
+    @Test
+    void processBatch_SameKeyTwice_ReplaysBatchResponse() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(List.of(new CustomerBatchOperation(
+                CustomerBatchOperation.Action.CREATE, null,
+                new CustomerRequest("Batch", "Potent", key + "@idempotency.example.com"))));
+        long before = customerRepository.count();
+
+        String first = mockMvc.perform(post("/customers/batch")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post("/customers/batch")
+                        .header(IdempotencyStore.IDEMPOTENCY_KEY, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyStore.IDEMPOTENT_REPLAYED, "true"))
+                .andExpect(content().json(first, true));
+
+        assertEquals(before + 1, customerRepository.count());
+    }
+
+    @Test
+    void execute_ConcurrentDuplicates_RunActionOnceAndShareResult() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger invocations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResponseEntity<?>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> idempotencyStore.execute(key, request(), "payload", () -> {
+                    invocations.incrementAndGet();
+                    awaitQuietly(release);
+                    return ResponseEntity.status(HttpStatus.CREATED).body("created");
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            int replayed = 0;
+            for (Future<ResponseEntity<?>> result : results) {
+                ResponseEntity<?> response = result.get(10, TimeUnit.SECONDS);
+                assertEquals(HttpStatus.CREATED, response.getStatusCode());
+                if (response.getHeaders().containsKey(IdempotencyStore.IDEMPOTENT_REPLAYED)) {
+                    assertEquals("\"created\"", response.getBody());
+                    replayed++;
+                }
+            }
+            assertEquals(1, invocations.get());
+            assertEquals(7, replayed);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_CommitFails_DuplicatesDoNotReplay() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ResponseEntity<?>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> idempotencyStore.execute(key, request(), "payload", () -> {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void beforeCommit(boolean readOnly) {
+                            throw new IllegalStateException("commit failed");
+                        }
+                    });
+                    awaitQuietly(release);
+                    return ResponseEntity.status(HttpStatus.CREATED).body("created");
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            for (Future<ResponseEntity<?>> result : results) {
+                ExecutionException failure = assertThrows(ExecutionException.class,
+                        () -> result.get(10, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalStateException.class, failure.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void execute_DuplicateOfExpiredRow_DoesNotLeaveKeyInProgress() {
+        String key = UUID.randomUUID().toString();
+        idempotencyStore.execute(key, request(), "payload", () -> ResponseEntity.status(HttpStatus.CREATED).body("created"));
+        jdbcTemplate.update("UPDATE idempotency_keys SET created_dtime = ?",
+                Timestamp.valueOf(LocalDateTime.now().minus(idempotencyProperties.getTtl()).minusMinutes(1)));
+        IdempotencyStore restarted = new IdempotencyStore(idempotencyProperties, idempotencyKeyRepository,
+                transactionTemplate, objectMapper);
+
+        assertThrows(DuplicateKeyException.class, () -> restarted.execute(key, request(), "payload",
+                () -> ResponseEntity.status(HttpStatus.CREATED).body("created")));
+        assertThrows(DuplicateKeyException.class, () -> restarted.execute(key, request(), "payload",
+                () -> ResponseEntity.status(HttpStatus.CREATED).body("created")));
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/customers");
+        request.addHeader("X-Api-Key", "client-a");
+        return request;
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package ee.lhv.customer.api.index;
+
+import ee.lhv.customer.api.config.EmailIndexProperties;
+import ee.lhv.customer.api.repository.CustomerJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class EmailIndexTest {
+
+    @Mock
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    private EmailIndexProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new EmailIndexProperties();
+        properties.setEnabled(true);
+        properties.setExpectedInsertions(10_000);
+    }
+
+    @Test
+    void mightContain_BeforeBuild_FallsBackToDatabase() {
+        EmailIndex emailIndex = new EmailIndex(properties, customerJdbcRepository);
+
+        assertTrue(emailIndex.mightContain("unknown@example.com"));
+    }
+
+    @Test
+    void mightContain_AfterBuild_KnowsExistingAndAddedEmails() {
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            consumer.accept("test.kasutaja@example.com");
+            return null;
+        }).when(customerJdbcRepository).forEachEmail(any());
+        EmailIndex emailIndex = new EmailIndex(properties, customerJdbcRepository);
+
+        emailIndex.build();
+        emailIndex.add("new@example.com");
+
+        assertTrue(emailIndex.mightContain("test.kasutaja@example.com"));
+        assertTrue(emailIndex.mightContain("new@example.com"));
+        assertFalse(emailIndex.mightContain("unknown@example.com"));
+    }
+
+    @Test
+    void mightContain_Disabled_AlwaysFallsBackToDatabase() {
+        properties.setEnabled(false);
+        EmailIndex emailIndex = new EmailIndex(properties, customerJdbcRepository);
+
+        emailIndex.build();
+
+        assertTrue(emailIndex.mightContain("unknown@example.com"));
+    }
+
+    @Test
+    void bloomFilter_FalsePositiveRateWithinBound() {
+        EmailBloomFilter filter = new EmailBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("customer" + i + "@example.com");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other" + i + "@example.org")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,32 @@
+package ee.lhv.customer.api.job;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvCodecTest {
+
+    @Test
+    void parse_HandlesQuotedSeparatorsAndEscapedQuotes() {
+        assertEquals(List.of("Grace, Brewster", "O\"Hopper", "", "grace@example.com"),
+                CsvCodec.parse("\"Grace, Brewster\",\"O\"\"Hopper\",,grace@example.com"));
+    }
+
+    @Test
+    void parse_RejectsUnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> CsvCodec.parse("\"Grace,Hopper"));
+    }
+
+    @Test
+    void append_SeparatesFieldsAndQuotesOnlyWhenNeeded() {
+        StringBuilder line = new StringBuilder();
+        CsvCodec.append(line, "Ada");
+        CsvCodec.append(line, "Lovelace, \"Countess\"");
+
+        assertEquals("Ada,\"Lovelace, \"\"Countess\"\"\"", line.toString());
+        assertEquals(List.of("Ada", "Lovelace, \"Countess\""), CsvCodec.parse(line.toString()));
+    }
+}
@@ -0,0 +1,315 @@
+package ee.lhv.customer.api.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.config.JobProperties;
+import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.repository.CustomerJobRepository;
+import ee.lhv.customer.api.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "customer-api.jobs.directory=build/test-jobs",
+        "customer-api.jobs.batch-size=2",
+        "customer-api.paging.stream-fetch-size=2"
+})
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class CustomerJobIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CustomerJobService customerJobService;
+
+    @Autowired
+    private CustomerJobRepository customerJobRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JobProperties jobProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM customer_changes");
+        jdbcTemplate.update("DELETE FROM customers WHERE email LIKE '%@jobs.example.com'");
+        jdbcTemplate.update("DELETE FROM customers_archive WHERE email LIKE '%@jobs.example.com'");
+        jdbcTemplate.update("DELETE FROM customer_jobs");
+    }
+
+    @Test
+    void importCsv_WritesValidRowsAndRejectsInvalidAndDuplicates() throws Exception {
+        String csv = """
+                first_name,last_name,email
+                Ada,Lovelace,ada@jobs.example.com
+                Bad,Email,not-an-email
+                Ada,Again,ada@jobs.example.com
+                "Broken,Quote,broken@jobs.example.com
+                "Grace, Brewster",Hopper,grace@jobs.example.com
+                Alan,Turing,alan@jobs.example.com
+                """;
+
+        String response = mockMvc.perform(post("/customers/jobs/import").param("format", "csv")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists("Location"))
+                .andExpect(jsonPath("$.type").value("IMPORT"))
+                .andReturn().getResponse().getContentAsString();
+
+        CustomerJob job = awaitTerminal(objectMapper.readTree(response).get("id").asText());
+
+        assertEquals(CustomerJob.Status.COMPLETED, job.getStatus());
+        assertEquals(6, job.getRowsProcessed());
+        assertEquals(3, job.getRowsWritten());
+        assertEquals(1, job.getRowsDuplicate());
+        assertEquals(2, job.getRowsInvalid());
+        assertEquals(Set.of("ada@jobs.example.com", "grace@jobs.example.com", "alan@jobs.example.com"),
+                Set.copyOf(customerRepository.findExistingEmails(List.of("ada@jobs.example.com",
+                        "grace@jobs.example.com", "alan@jobs.example.com", "broken@jobs.example.com"))));
+
+        String rejects = mockMvc.perform(get("/customers/jobs/{id}/file", job.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<JsonNode> rejected = rejects.lines().map(this::readTree).toList();
+        assertEquals(List.of(2, 3, 4), rejected.stream().map(node -> node.get("line").asInt()).toList());
+        assertTrue(rejected.get(1).get("error").asText().startsWith("Email already exists"));
+    }
+
+    @Test
+    void exportNdjson_WritesCompressedFileForDownload() throws Exception {
+        customerRepository.saveAll(List.of(
+                new Customer("Ada", "Lovelace", "ada@jobs.example.com"),
+                new Customer("Grace", "Hopper", "grace@jobs.example.com"),
+                new Customer("Alan", "Turing", "alan@jobs.example.com")));
+
+        String response = mockMvc.perform(post("/customers/jobs/export").param("format", "ndjson"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.compressed").value(true))
+                .andReturn().getResponse().getContentAsString();
+        CustomerJob job = awaitTerminal(objectMapper.readTree(response).get("id").asText());
+        assertEquals(CustomerJob.Status.COMPLETED, job.getStatus());
+
+        byte[] file = mockMvc.perform(get("/customers/jobs/{id}/file", job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<JsonNode> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(file)), StandardCharsets.UTF_8))) {
+            lines = reader.lines().map(this::readTree).toList();
+        }
+        assertEquals(job.getRowsWritten(), lines.size());
+        assertTrue(lines.stream().map(node -> node.get("email").asText()).collect(Collectors.toSet())
+                .containsAll(Set.of("ada@jobs.example.com", "grace@jobs.example.com", "alan@jobs.example.com")));
+        List<Long> ids = lines.stream().map(node -> node.get("id").asLong()).toList();
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void exportNdjson_PagesThroughLiveAndArchivedCustomersInIdOrder() throws Exception {
+        List<Customer> customers = customerRepository.saveAll(List.of(
+                new Customer("Ada", "Lovelace", "ada@jobs.example.com"),
+                new Customer("Grace", "Hopper", "grace@jobs.example.com"),
+                new Customer("Alan", "Turing", "alan@jobs.example.com"),
+                new Customer("Edsger", "Dijkstra", "edsger@jobs.example.com"),
+                new Customer("Barbara", "Liskov", "barbara@jobs.example.com")));
+        archive(customers.get(1).getId(), false);
+        archive(customers.get(2).getId(), true);
+        archive(customers.get(3).getId(), false);
+
+        String response = mockMvc.perform(post("/customers/jobs/export").param("format", "ndjson")
+                        .param("compressed", "false"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        CustomerJob job = awaitTerminal(objectMapper.readTree(response).get("id").asText());
+        assertEquals(CustomerJob.Status.COMPLETED, job.getStatus());
+
+        List<JsonNode> lines = mockMvc.perform(get("/customers/jobs/{id}/file", job.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString().lines().map(this::readTree).toList();
+        List<Long> ids = lines.stream().map(node -> node.get("id").asLong()).toList();
+        assertEquals(ids.stream().distinct().sorted().toList(), ids);
+        Set<String> emails = lines.stream().map(node -> node.get("email").asText()).collect(Collectors.toSet());
+        assertTrue(emails.containsAll(Set.of("ada@jobs.example.com", "grace@jobs.example.com",
+                "edsger@jobs.example.com", "barbara@jobs.example.com")));
+        assertFalse(emails.contains("alan@jobs.example.com"));
+    }
+
+    @Test
+    void exportCsv_WritesHeaderAndQuotedFields() throws Exception {
+        customerRepository.save(new Customer("Grace, Brewster", "Hopper", "grace@jobs.example.com"));
+
+        String response = mockMvc.perform(post("/customers/jobs/export").param("format", "csv")
+                        .param("compressed", "false"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        CustomerJob job = awaitTerminal(objectMapper.readTree(response).get("id").asText());
+        assertEquals(CustomerJob.Status.COMPLETED, job.getStatus());
+
+        List<String> lines = mockMvc.perform(get("/customers/jobs/{id}/file", job.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andReturn().getResponse().getContentAsString().lines().toList();
+
+        assertEquals(CustomerExporter.CSV_HEADER, lines.get(0));
+        assertEquals(job.getRowsWritten() + 1, lines.size());
+        List<String> grace = lines.stream().map(CsvCodec::parse)
+                .filter(fields -> fields.get(3).equals("grace@jobs.example.com"))
+                .findFirst().orElseThrow();
+        assertEquals(List.of("Grace, Brewster", "Hopper"), grace.subList(1, 3));
+        assertEquals(7, grace.size());
+    }
+
+    @Test
+    void resume_ContinuesFailedImportFromCheckpoint() throws Exception {
+        CustomerJob job = new CustomerJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setType(CustomerJob.Type.IMPORT);
+        job.setFormat(CustomerJob.Format.NDJSON);
+        job.setStatus(CustomerJob.Status.QUEUED);
+        job.setCreatedDtime(LocalDateTime.now());
+        job.setModifiedDtime(job.getCreatedDtime());
+        customerJobRepository.insert(job);
+        job.setStatus(CustomerJob.Status.FAILED);
+        job.setCheckpoint(1);
+        job.setRowsProcessed(1);
+        job.setRowsWritten(1);
+        job.setError("Connection reset");
+        customerJobRepository.update(job);
+        Files.createDirectories(jobProperties.getDirectory());
+        Files.writeString(jobProperties.getDirectory().resolve(job.fileName()), """
+                {"firstName":"Skipped","lastName":"Row","email":"skipped@jobs.example.com"}
+                {"firstName":"Grace","lastName":"Hopper","email":"grace@jobs.example.com"}
+                {"firstName":"Alan","lastName":"Turing","email":"alan@jobs.example.com"}
+                """);
+
+        mockMvc.perform(post("/customers/jobs/{id}/resume", job.getId()))
+                .andExpect(status().isAccepted());
+        CustomerJob resumed = awaitTerminal(job.getId());
+
+        assertEquals(CustomerJob.Status.COMPLETED, resumed.getStatus());
+        assertEquals(3, resumed.getCheckpoint());
+        assertEquals(3, resumed.getRowsProcessed());
+        assertEquals(3, resumed.getRowsWritten());
+        assertEquals(1, resumed.getRowsAtStart());
+        assertEquals(Set.of("grace@jobs.example.com", "alan@jobs.example.com"),
+                Set.copyOf(customerRepository.findExistingEmails(List.of("skipped@jobs.example.com",
+                        "grace@jobs.example.com", "alan@jobs.example.com"))));
+
+        mockMvc.perform(post("/customers/jobs/{id}/resume", job.getId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("JOB_STATE_CONFLICT"));
+    }
+
+    @Test
+    void queueResumable_ClaimsJobOnce() {
+        CustomerJob job = new CustomerJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setType(CustomerJob.Type.EXPORT);
+        job.setFormat(CustomerJob.Format.CSV);
+        job.setStatus(CustomerJob.Status.QUEUED);
+        job.setCreatedDtime(LocalDateTime.now());
+        job.setModifiedDtime(job.getCreatedDtime());
+        customerJobRepository.insert(job);
+        job.setStatus(CustomerJob.Status.INTERRUPTED);
+        customerJobRepository.update(job);
+
+        assertTrue(customerJobRepository.queueResumable(job.getId()));
+        assertFalse(customerJobRepository.queueResumable(job.getId()));
+        assertEquals(CustomerJob.Status.QUEUED, customerJobRepository.findById(job.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void jobRequests_RejectUnknownJobsAndFormats() throws Exception {
+        mockMvc.perform(get("/customers/jobs/{id}", "missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("JOB_NOT_FOUND"));
+
+        mockMvc.perform(post("/customers/jobs/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_JOB"));
+
+        mockMvc.perform(get("/customers/jobs").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+    }
+
+    private CustomerJob awaitTerminal(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            CustomerJob job = customerJobService.getJob(id);
+            if (job.getStatus() != CustomerJob.Status.QUEUED && job.getStatus() != CustomerJob.Status.RUNNING) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        return fail("Customer job " + id + " did not finish");
+    }
+
+    private void archive(Long id, boolean deleted) {
+        jdbcTemplate.update("INSERT INTO customers_archive (id, first_name, last_name, email, created_dtime, "
+                + "modified_dtime, version, deleted_dtime, archived_dtime) SELECT id, first_name, last_name, email, "
+                + "created_dtime, modified_dtime, version, CASE WHEN ? THEN LOCALTIMESTAMP END, LOCALTIMESTAMP "
+                + "FROM customers WHERE id = ?", deleted, id);
+        jdbcTemplate.update("DELETE FROM customers WHERE id = ?", id);
+    }
+
+    private JsonNode readTree(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
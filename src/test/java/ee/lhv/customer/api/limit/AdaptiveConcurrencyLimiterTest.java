@@ -0,0 +1,107 @@
+package ee.lhv.customer.api.limit;
+
+import ee.lhv.customer.api.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private long now;
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(6);
+        properties.setLatencyThreshold(Duration.ofMillis(100));
+        properties.setBackoffRatio(0.5);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new AdaptiveConcurrencyLimiter(properties, meterRegistry);
+        now = System.nanoTime();
+    }
+
+    @Test
+    void tryAcquire_RejectsAboveLimit() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.inFlight());
+        assertEquals(1.0, meterRegistry.get("customer.api.concurrency.rejected").counter().count());
+    }
+
+    @Test
+    void release_FastResponsesUnderLoadGrowLimitUpToMax() {
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            complete(FAST, false);
+            complete(FAST, false);
+            complete(FAST, false);
+        }
+
+        assertEquals(6, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void release_FastResponsesWithoutLoadKeepLimit() {
+        limiter.tryAcquire();
+        complete(FAST, false);
+
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void release_SlowOrOverloadedResponsesShrinkLimitDownToMin() {
+        limiter.tryAcquire();
+        complete(SLOW, false);
+        assertEquals(2, limiter.limit());
+
+        limiter.tryAcquire();
+        complete(FAST, true);
+        assertEquals(1, limiter.limit());
+
+        limiter.tryAcquire();
+        complete(SLOW, true);
+        assertEquals(1, limiter.limit());
+    }
+
+    @Test
+    void release_SlowResponsesStartedBeforeLastDecreaseIgnored() {
+        long start = now + FAST;
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        limiter.release(start, start + SLOW, false);
+        limiter.release(start, start + SLOW + FAST, false);
+        limiter.release(start, start + SLOW + 2 * FAST, true);
+
+        assertEquals(2, limiter.limit());
+        assertEquals(1, limiter.inFlight());
+
+        limiter.release(start + SLOW + FAST, start + 2 * SLOW + FAST, false);
+
+        assertEquals(1, limiter.limit());
+    }
+
+    private void complete(long latencyNanos, boolean overloaded) {
+        long start = now;
+        now += latencyNanos;
+        limiter.release(start, now, overloaded);
+    }
+}
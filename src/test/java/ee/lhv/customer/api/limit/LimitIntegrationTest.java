@@ -0,0 +1,101 @@
+package ee.lhv.customer.api.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "customer-api.rate-limit.enabled=true",
+        "customer-api.rate-limit.capacity=20",
+        "customer-api.rate-limit.refill-per-second=1",
+        "customer-api.rate-limit.address-capacity=60",
+        "customer-api.rate-limit.address-refill-per-second=1",
+        "customer-api.concurrency-limit.enabled=true"
+})
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+@ExtendWith(OutputCaptureExtension.class)
+class LimitIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void listCustomers_ExhaustedBucketReturns429WithRetryAfter(CapturedOutput output) throws Exception {
+        mockMvc.perform(get("/customers").header("X-Api-Key", "expensive-client"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/customers").header("X-Api-Key", "expensive-client"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/customers").header("X-Api-Key", "expensive-client"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"))
+                .andExpect(jsonPath("$.code").value("RATE_LIMITED"))
+                .andExpect(content().string(not(containsString("expensive-client"))));
+
+        mockMvc.perform(get("/customers").header("X-Api-Key", "other-client"))
+                .andExpect(status().isOk());
+        assertFalse(output.getAll().contains("expensive-client"));
+    }
+
+    @Test
+    void listCustomers_NewKeyPerRequestIsLimitedByRemoteAddress() throws Exception {
+        for (int i = 0; i < 6; i++) {
+            mockMvc.perform(get("/customers").header("X-Api-Key", "rotating-client-" + i)
+                            .with(fromAddress("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/customers").header("X-Api-Key", "rotating-client-6").with(fromAddress("10.0.0.1")))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+        mockMvc.perform(get("/customers").header("X-Api-Key", "rotating-client-6").with(fromAddress("10.0.0.2")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getCustomer_PermitReleasedAfterResponse() throws Exception {
+        mockMvc.perform(get("/customers/{id}", 999_999).header("X-Api-Key", "cheap-client"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(0, concurrencyLimiter.inFlight());
+    }
+
+    private static RequestPostProcessor fromAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package ee.lhv.customer.api.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private static final long START = TimeUnit.SECONDS.toNanos(1_000);
+
+    @Test
+    void tryConsume_AllowsBurstUpToCapacity() {
+        TokenBucket bucket = new TokenBucket(10, 10, START);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, bucket.tryConsume(1, START));
+        }
+        assertTrue(bucket.tryConsume(1, START) > 0);
+    }
+
+    @Test
+    void tryConsume_RefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(10, 10, START);
+        assertEquals(0, bucket.tryConsume(10, START));
+        assertTrue(bucket.tryConsume(1, START) > 0);
+
+        assertEquals(0, bucket.tryConsume(5, START + TimeUnit.MILLISECONDS.toNanos(500)));
+        assertTrue(bucket.tryConsume(1, START + TimeUnit.MILLISECONDS.toNanos(500)) > 0);
+    }
+
+    @Test
+    void tryConsume_ReturnsWaitUntilEnoughTokens() {
+        TokenBucket bucket = new TokenBucket(10, 10, START);
+        assertEquals(0, bucket.tryConsume(10, START));
+
+        long waitNanos = bucket.tryConsume(3, START);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(300), waitNanos);
+        assertEquals(0, bucket.tryConsume(3, START + waitNanos));
+    }
+
+    @Test
+    void tryConsume_CostAboveCapacityClampedToFullBucket() {
+        TokenBucket bucket = new TokenBucket(10, 10, START);
+
+        assertEquals(0, bucket.tryConsume(100, START));
+        assertTrue(bucket.tryConsume(1, START) > 0);
+    }
+}
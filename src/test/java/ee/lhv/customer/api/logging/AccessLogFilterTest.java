@@ -0,0 +1,37 @@
+package ee.lhv.customer.api.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+class AccessLogFilterTest {
+
+    private final AccessLogFilter filter = new AccessLogFilter();
+
+    @Test
+    void doFilter_LogsOneLinePerRequest(CapturedOutput output) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/customers/42");
+        request.setQueryString("email=jane@example.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(404);
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        String line = output.getOut().lines()
+                .filter(l -> l.contains("ee.lhv.customer.api.access"))
+                .reduce((first, second) -> first + "\n" + second)
+                .orElse("");
+        assertEquals(1, line.lines().count());
+        assertTrue(line.contains("method=GET uri=/customers/42 status=404 duration_us="));
+        assertFalse(line.contains("jane@example.com"));
+    }
+}
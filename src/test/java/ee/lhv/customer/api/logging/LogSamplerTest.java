@@ -0,0 +1,45 @@
+package ee.lhv.customer.api.logging;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.event.Level;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+class LogSamplerTest {
+
+    private static final Logger log = LoggerFactory.getLogger("ee.lhv.customer.api.sampled");
+
+    @Test
+    void log_WritesOneLinePerIntervalWithSuppressedCount(CapturedOutput output) throws Exception {
+        LogSampler sampler = new LogSampler(Duration.ofMillis(200));
+
+        sampler.log(log, Level.WARN, "Sampled: {}", "first");
+        sampler.log(log, Level.WARN, "Sampled: {}", "second");
+        sampler.log(log, Level.WARN, "Sampled: {}", "third");
+        Thread.sleep(250);
+        sampler.log(log, Level.WARN, "Sampled: {}", "fourth");
+
+        assertEquals(2, output.getOut().lines().filter(line -> line.contains("Sampled: ")).count());
+        assertTrue(output.getOut().contains("Sampled: first (0 similar suppressed)"));
+        assertTrue(output.getOut().contains("Sampled: fourth (2 similar suppressed)"));
+    }
+
+    @Test
+    void log_PassesThrowableAsCause(CapturedOutput output) {
+        LogSampler sampler = new LogSampler(Duration.ofSeconds(1));
+
+        sampler.log(log, Level.ERROR, "Unexpected error", new IllegalStateException("boom"));
+
+        assertTrue(output.getOut().contains("Unexpected error (0 similar suppressed)"));
+        assertTrue(output.getOut().contains("java.lang.IllegalStateException: boom"));
+    }
+}
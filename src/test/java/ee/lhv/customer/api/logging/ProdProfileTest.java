@@ -0,0 +1,33 @@
+package ee.lhv.customer.api.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProdProfileTest {
+
+    @Test
+    void prodProfile_EnablesAccessLog() throws IOException {
+        Properties prod = PropertiesLoaderUtils.loadProperties(new ClassPathResource("application-prod.properties"));
+
+        new ApplicationContextRunner()
+                .withInitializer(context -> context.getEnvironment().getPropertySources()
+                        .addFirst(new PropertiesPropertySource("prod", prod)))
+                .withUserConfiguration(AccessLogFilter.class)
+                .run(context -> assertThat(context).hasSingleBean(AccessLogFilter.class));
+    }
+
+    @Test
+    void defaultProfile_LeavesAccessLogOff() {
+        new ApplicationContextRunner()
+                .withUserConfiguration(AccessLogFilter.class)
+                .run(context -> assertThat(context).doesNotHaveBean(AccessLogFilter.class));
+    }
+}
@@ -0,0 +1,126 @@
+package ee.lhv.customer.api.outbox;
+
+import ee.lhv.customer.api.dto.CustomerChange;
+import ee.lhv.customer.api.dto.CustomerChangesResponse;
+import ee.lhv.customer.api.event.CustomerChangedEvent.Type;
+import ee.lhv.customer.api.repository.CustomerChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerChangeFeedTest {
+
+    @Mock
+    private CustomerChangeRepository customerChangeRepository;
+
+    private CustomerChangeFeed customerChangeFeed;
+
+    @AfterEach
+    void tearDown() {
+        customerChangeFeed.destroy();
+    }
+
+    @Test
+    void poll_WithoutChanges_CompletesWhenChangesArrive() throws InterruptedException {
+        customerChangeFeed = new CustomerChangeFeed(customerChangeRepository, TransactionOperations.withoutTransaction());
+        CustomerChange change = new CustomerChange(8L, 1L, Type.UPDATED, null, LocalDateTime.now());
+        when(customerChangeRepository.findSince(7L, 10)).thenReturn(List.of()).thenReturn(List.of(change));
+
+        DeferredResult<CustomerChangesResponse> result = customerChangeFeed.poll(7L, 10, Duration.ofSeconds(30));
+        CountDownLatch completed = new CountDownLatch(1);
+        result.setResultHandler(value -> completed.countDown());
+        customerChangeFeed.changed();
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        CustomerChangesResponse response = (CustomerChangesResponse) result.getResult();
+        assertEquals(List.of(change), response.getChanges());
+        assertEquals(8L, response.getNext());
+    }
+
+    @Test
+    void poll_WithSeveralWaiters_AnswersAllFromOneQuery() throws InterruptedException {
+        customerChangeFeed = new CustomerChangeFeed(customerChangeRepository, TransactionOperations.withoutTransaction());
+        List<CustomerChange> committed = List.of(
+                new CustomerChange(8L, 1L, Type.UPDATED, null, LocalDateTime.now()),
+                new CustomerChange(9L, 2L, Type.CREATED, null, LocalDateTime.now()));
+        AtomicBoolean changesCommitted = new AtomicBoolean();
+        AtomicInteger readsAfterCommit = new AtomicInteger();
+        CountDownLatch wakeUpStarted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        when(customerChangeRepository.findSince(anyLong(), anyInt())).thenAnswer(invocation -> {
+            if (!changesCommitted.get()) {
+                if (Thread.currentThread().getName().equals("customer-change-feed")) {
+                    wakeUpStarted.countDown();
+                    commit.await(5, TimeUnit.SECONDS);
+                }
+                return List.of();
+            }
+            readsAfterCommit.incrementAndGet();
+            long since = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return committed.stream().filter(change -> change.getSequence() > since).limit(limit).toList();
+        });
+
+        DeferredResult<CustomerChangesResponse> behind = customerChangeFeed.poll(7L, 10, Duration.ofSeconds(30));
+        DeferredResult<CustomerChangesResponse> ahead = customerChangeFeed.poll(8L, 1, Duration.ofSeconds(30));
+        CountDownLatch completed = new CountDownLatch(2);
+        behind.setResultHandler(value -> completed.countDown());
+        ahead.setResultHandler(value -> completed.countDown());
+        assertTrue(wakeUpStarted.await(5, TimeUnit.SECONDS));
+        changesCommitted.set(true);
+        commit.countDown();
+        customerChangeFeed.changed();
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(committed, ((CustomerChangesResponse) behind.getResult()).getChanges());
+        CustomerChangesResponse aheadResponse = (CustomerChangesResponse) ahead.getResult();
+        assertEquals(List.of(committed.get(1)), aheadResponse.getChanges());
+        assertEquals(9L, aheadResponse.getNext());
+        assertEquals(1, readsAfterCommit.get());
+    }
+
+    @Test
+    void read_PublishesCommittedChangesFirst() {
+        customerChangeFeed = new CustomerChangeFeed(customerChangeRepository, TransactionOperations.withoutTransaction());
+        when(customerChangeRepository.findSince(0L, 10)).thenReturn(List.of());
+
+        customerChangeFeed.read(0L, 10);
+        customerChangeFeed.read(0L, 10);
+        customerChangeFeed.changed();
+        customerChangeFeed.read(0L, 10);
+
+        verify(customerChangeRepository, times(2)).publish(anyInt());
+    }
+
+    @Test
+    void poll_WithoutWait_ReturnsImmediately() {
+        customerChangeFeed = new CustomerChangeFeed(customerChangeRepository, TransactionOperations.withoutTransaction());
+        when(customerChangeRepository.findSince(3L, 10)).thenReturn(List.of());
+
+        DeferredResult<CustomerChangesResponse> result = customerChangeFeed.poll(3L, 10, Duration.ZERO);
+
+        CustomerChangesResponse response = (CustomerChangesResponse) result.getResult();
+        assertTrue(response.getChanges().isEmpty());
+        assertEquals(3L, response.getNext());
+    }
+}
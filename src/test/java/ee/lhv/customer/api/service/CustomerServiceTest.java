@@ -1,10 +1,21 @@
 package ee.lhv.customer.api.service;
 
+import ee.lhv.customer.api.archive.CustomerArchive;
+import ee.lhv.customer.api.cache.CustomerCache;
+import ee.lhv.customer.api.config.BatchProperties;
+import ee.lhv.customer.api.config.CustomerCacheProperties;
+import ee.lhv.customer.api.config.EmailIndexProperties;
+import ee.lhv.customer.api.dto.CustomerLookupResponse;
 import ee.lhv.customer.api.dto.CustomerRequest;
 import ee.lhv.customer.api.dto.CustomerResponse;
 import ee.lhv.customer.api.entity.Customer;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import ee.lhv.customer.api.exception.BatchTooLargeException;
 import ee.lhv.customer.api.exception.CustomerNotFoundException;
 import ee.lhv.customer.api.exception.EmailAlreadyExistsException;
+import ee.lhv.customer.api.exception.PreconditionFailedException;
+import ee.lhv.customer.api.index.EmailIndex;
+import ee.lhv.customer.api.repository.CustomerJdbcRepository;
 import ee.lhv.customer.api.repository.CustomerRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,16 +23,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +48,24 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    @Spy
+    private CustomerCache customerCache = new CustomerCache(new CustomerCacheProperties());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private EmailIndex emailIndex = new EmailIndex(new EmailIndexProperties(), null);
+
+    @Spy
+    private BatchProperties batchProperties = new BatchProperties();
+
+    @Mock
+    private CustomerArchive customerArchive;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -50,7 +85,7 @@ class CustomerServiceTest {
     @Test
     void createCustomer_Success() {
         when(customerRepository.existsByEmail(anyString())).thenReturn(false);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
 
         CustomerResponse response = customerService.createCustomer(testRequest);
 
@@ -59,7 +94,7 @@ class CustomerServiceTest {
         assertEquals("Kasutaja", response.getLastName());
         assertEquals("test.kasutaja@example.com", response.getEmail());
         verify(customerRepository).existsByEmail("test.kasutaja@example.com");
-        verify(customerRepository).save(any(Customer.class));
+        verify(customerRepository).saveAndFlush(any(Customer.class));
     }
 
     @Test
@@ -69,7 +104,18 @@ class CustomerServiceTest {
         assertThrows(EmailAlreadyExistsException.class, 
             () -> customerService.createCustomer(testRequest));
         verify(customerRepository).existsByEmail("test.kasutaja@example.com");
-        verify(customerRepository, never()).save(any(Customer.class));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+    }
+
+    @Test
+    void createCustomer_UniqueConstraintViolation_ThrowsException() {
+        when(customerRepository.existsByEmail(anyString())).thenReturn(false);
+        when(customerRepository.saveAndFlush(any(Customer.class)))
+            .thenThrow(new DataIntegrityViolationException("idx_customers_email"));
+
+        assertThrows(EmailAlreadyExistsException.class,
+            () -> customerService.createCustomer(testRequest));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -84,26 +130,102 @@ class CustomerServiceTest {
         verify(customerRepository).findById(1L);
     }
 
+    @Test
+    void getCustomerById_ServedFromCache() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+
+        CustomerResponse first = customerService.getCustomerById(1L);
+        CustomerResponse second = customerService.getCustomerById(1L);
+
+        assertSame(first, second);
+        assertEquals(1, customerCache.stats().hitCount());
+        verify(customerRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getCustomerById_ReloadedAfterChangeEvent() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+
+        customerService.getCustomerById(1L);
+        customerCache.onCustomerChanged(CustomerChangedEvent.deleted(1L));
+        customerService.getCustomerById(1L);
+
+        verify(customerRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void lookupCustomers_KeepsInputOrderAndReportsMissing() {
+        Customer second = new Customer("Teine", "Kasutaja", "teine.kasutaja@example.com");
+        second.setId(2L);
+        second.setCreatedDtime(LocalDateTime.now());
+        second.setModifiedDtime(LocalDateTime.now());
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.findAllById(any())).thenReturn(List.of(second));
+        customerService.getCustomerById(1L);
+
+        CustomerLookupResponse response = customerService.lookupCustomers(Arrays.asList(2L, 3L, 1L, 2L));
+
+        assertEquals(List.of(2L, 1L), response.getCustomers().stream().map(CustomerResponse::getId).toList());
+        assertEquals(List.of(3L), response.getMissing());
+        verify(customerRepository).findAllById(argThat(ids -> List.copyOf((Collection<Long>) ids).equals(List.of(2L, 3L))));
+    }
+
+    @Test
+    void lookupCustomers_TooManyIds_ThrowsException() {
+        batchProperties.setMaxSize(2);
+
+        assertThrows(BatchTooLargeException.class, () -> customerService.lookupCustomers(List.of(1L, 2L, 3L)));
+        verifyNoInteractions(customerRepository);
+    }
+
     @Test
     void getCustomerById_NotFound_ThrowsException() {
         when(customerRepository.findById(1L)).thenReturn(Optional.empty());
 
-        assertThrows(CustomerNotFoundException.class, 
+        CustomerNotFoundException exception = assertThrows(CustomerNotFoundException.class,
             () -> customerService.getCustomerById(1L));
+        assertEquals(0, exception.getStackTrace().length);
         verify(customerRepository).findById(1L);
     }
 
     @Test
-    void getAllCustomers_Success() {
+    void getCustomerById_NotFoundIsCached() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomerById(1L));
+        assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomerById(1L));
+        customerCache.onCustomerChanged(CustomerChangedEvent.created(new CustomerResponse(testCustomer)));
+        assertThrows(CustomerNotFoundException.class, () -> customerService.getCustomerById(1L));
+
+        verify(customerRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void getCustomers_Success() {
         Customer customer2 = new Customer("Test2", "Kasutaja2", "test2.kasutaja2@example.com");
         customer2.setId(2L);
-        when(customerRepository.findAll()).thenReturn(Arrays.asList(testCustomer, customer2));
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10)))
+            .thenReturn(Arrays.asList(testCustomer, customer2));
 
-        List<CustomerResponse> responses = customerService.getAllCustomers();
+        List<CustomerResponse> responses = customerService.getCustomers(null, 10);
 
         assertNotNull(responses);
         assertEquals(2, responses.size());
-        verify(customerRepository).findAll();
+        verify(customerRepository).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+        verify(customerRepository, never()).findAll();
+    }
+
+    @Test
+    void getCustomers_AfterCursor() {
+        Customer customer2 = new Customer("Test2", "Kasutaja2", "test2.kasutaja2@example.com");
+        customer2.setId(2L);
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(10)))
+            .thenReturn(List.of(customer2));
+
+        List<CustomerResponse> responses = customerService.getCustomers(1L, 10);
+
+        assertEquals(1, responses.size());
+        assertEquals(2L, responses.get(0).getId());
     }
 
     @Test
@@ -111,13 +233,61 @@ class CustomerServiceTest {
         CustomerRequest updateRequest = new CustomerRequest("Test", "Updated", "test.updated@example.com");
         when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
         when(customerRepository.existsByEmail("test.updated@example.com")).thenReturn(false);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
 
         CustomerResponse response = customerService.updateCustomer(1L, updateRequest);
 
         assertNotNull(response);
         verify(customerRepository).findById(1L);
-        verify(customerRepository).save(any(Customer.class));
+        verify(customerRepository).saveAndFlush(any(Customer.class));
+        verify(eventPublisher).publishEvent(any(CustomerChangedEvent.class));
+    }
+
+    @Test
+    void updateCustomer_UniqueConstraintViolation_ThrowsException() {
+        CustomerRequest updateRequest = new CustomerRequest("Test", "Updated", "test.updated@example.com");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+        when(customerRepository.existsByEmail("test.updated@example.com")).thenReturn(false);
+        when(customerRepository.saveAndFlush(any(Customer.class)))
+            .thenThrow(new DataIntegrityViolationException("live_email"));
+
+        assertThrows(EmailAlreadyExistsException.class,
+            () -> customerService.updateCustomer(1L, updateRequest));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateCustomer_Unchanged_SkipsWrite() {
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+
+        CustomerResponse response = customerService.updateCustomer(1L, testRequest);
+
+        assertEquals("test.kasutaja@example.com", response.getEmail());
+        verify(customerRepository, never()).existsByEmail(anyString());
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void updateCustomer_VersionMismatch_ThrowsException() {
+        testCustomer.setVersion(3L);
+        CustomerRequest updateRequest = new CustomerRequest("Test", "Updated", "test.updated@example.com");
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+
+        assertThrows(PreconditionFailedException.class,
+            () -> customerService.updateCustomer(1L, updateRequest, 2L));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
+    }
+
+    @Test
+    void deleteCustomer_VersionMismatch_ThrowsException() {
+        testCustomer.setVersion(3L);
+        when(customerJdbcRepository.softDelete(1L, 2L)).thenReturn(Optional.empty());
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(testCustomer));
+
+        assertThrows(PreconditionFailedException.class,
+            () -> customerService.deleteCustomer(1L, 2L));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -127,26 +297,41 @@ class CustomerServiceTest {
         assertThrows(CustomerNotFoundException.class, 
             () -> customerService.updateCustomer(1L, testRequest));
         verify(customerRepository).findById(1L);
-        verify(customerRepository, never()).save(any(Customer.class));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
     }
 
     @Test
     void deleteCustomer_Success() {
-        when(customerRepository.existsById(1L)).thenReturn(true);
+        when(customerJdbcRepository.softDelete(1L, null)).thenReturn(Optional.of(testCustomer));
+
+        customerService.deleteCustomer(1L);
+
+        verify(customerJdbcRepository).softDelete(1L, null);
+        verify(customerRepository, never()).findById(any());
+        verify(eventPublisher).publishEvent(CustomerChangedEvent.deleted(new CustomerResponse(testCustomer)));
+    }
+
+    @Test
+    void deleteCustomer_Archived_RestoresAndDeletes() {
+        when(customerJdbcRepository.softDelete(1L, null))
+            .thenReturn(Optional.empty())
+            .thenReturn(Optional.of(testCustomer));
+        when(customerArchive.restore(1L)).thenReturn(true);
 
         customerService.deleteCustomer(1L);
 
-        verify(customerRepository).existsById(1L);
-        verify(customerRepository).deleteById(1L);
+        verify(customerJdbcRepository, times(2)).softDelete(1L, null);
+        verify(eventPublisher).publishEvent(CustomerChangedEvent.deleted(new CustomerResponse(testCustomer)));
     }
 
     @Test
     void deleteCustomer_NotFound_ThrowsException() {
-        when(customerRepository.existsById(1L)).thenReturn(false);
+        when(customerJdbcRepository.softDelete(1L, null)).thenReturn(Optional.empty());
+        when(customerRepository.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(CustomerNotFoundException.class, 
             () -> customerService.deleteCustomer(1L));
-        verify(customerRepository).existsById(1L);
-        verify(customerRepository, never()).deleteById(1L);
+        verify(customerArchive).restore(1L);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 }
\ No newline at end of file
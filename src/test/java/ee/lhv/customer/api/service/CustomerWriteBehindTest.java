@@ -0,0 +1,259 @@
+package ee.lhv.customer.api.service;
+
+import ee.lhv.customer.api.config.WriteBehindProperties;
+import ee.lhv.customer.api.dto.CustomerBatchOperation;
+import ee.lhv.customer.api.dto.CustomerBatchResponse;
+import ee.lhv.customer.api.dto.CustomerBatchResult;
+import ee.lhv.customer.api.dto.CustomerBatchResult.Status;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.dto.CustomerUpdateAccepted;
+import ee.lhv.customer.api.exception.CustomerNotFoundException;
+import ee.lhv.customer.api.exception.EmailAlreadyExistsException;
+import ee.lhv.customer.api.exception.WriteBehindQueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerWriteBehindTest {
+
+    @Mock
+    private CustomerBatchService customerBatchService;
+
+    @Mock
+    private CustomerService customerService;
+
+    private CustomerWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        WriteBehindProperties properties = new WriteBehindProperties();
+        properties.setEnabled(true);
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setMaxPending(2);
+        lenient().when(customerService.getCustomerById(anyLong())).thenAnswer(invocation -> stored(invocation.getArgument(0)));
+        lenient().when(customerService.emailExists(anyString())).thenReturn(false);
+        writeBehind = new CustomerWriteBehind(properties, customerBatchService, customerService, new SimpleMeterRegistry());
+        writeBehind.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.discard(1L);
+        writeBehind.discard(2L);
+        writeBehind.stop();
+    }
+
+    @Test
+    void submit_CoalescesUpdatesOfSameCustomer() {
+        CustomerUpdateAccepted first = writeBehind.submit(1L, new CustomerRequest("First", "Update", "first@example.com"));
+        CustomerUpdateAccepted second = writeBehind.submit(1L, new CustomerRequest("Second", "Update", "second@example.com"));
+        when(customerBatchService.processBatch(anyList())).thenReturn(new CustomerBatchResponse(1, 0,
+                List.of(new CustomerBatchResult(0, Status.UPDATED, 1L, null))));
+
+        assertEquals(3L, first.getVersion());
+        assertEquals(3L, second.getVersion());
+        assertEquals(1, writeBehind.flush());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CustomerBatchOperation>> operations = ArgumentCaptor.forClass(List.class);
+        verify(customerBatchService).processBatch(operations.capture());
+        assertEquals(1, operations.getValue().size());
+        assertEquals("second@example.com", operations.getValue().get(0).getCustomer().getEmail());
+        assertNull(writeBehind.pending(1L));
+    }
+
+    @Test
+    void submit_QueueFull_ThrowsException() {
+        writeBehind.submit(1L, new CustomerRequest("Test", "One", "one@example.com"));
+        writeBehind.submit(2L, new CustomerRequest("Test", "Two", "two@example.com"));
+
+        assertThrows(WriteBehindQueueFullException.class,
+                () -> writeBehind.submit(3L, new CustomerRequest("Test", "Three", "three@example.com")));
+        assertDoesNotThrow(() -> writeBehind.submit(1L, new CustomerRequest("Test", "Uno", "uno@example.com")));
+    }
+
+    @Test
+    void submit_QueueFullUnderConcurrentSubmits_AcceptsOnlyMaxPending() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> submits = IntStream.rangeClosed(1, 8)
+                    .mapToObj(id -> executor.submit(() -> {
+                        start.await();
+                        try {
+                            writeBehind.submit((long) id, new CustomerRequest("Test", "Racer", id + "@example.com"));
+                            return true;
+                        } catch (WriteBehindQueueFullException e) {
+                            return false;
+                        }
+                    }))
+                    .toList();
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> submit : submits) {
+                accepted += submit.get(5, TimeUnit.SECONDS) ? 1 : 0;
+            }
+            assertEquals(2, accepted);
+        } finally {
+            executor.shutdownNow();
+            LongStream.rangeClosed(3, 8).forEach(writeBehind::discard);
+        }
+    }
+
+    @Test
+    void submit_EmailTakenByAnotherCustomer_IsRejectedBeforeQueueing() {
+        when(customerService.emailExists("taken@example.com")).thenReturn(true);
+
+        assertThrows(EmailAlreadyExistsException.class,
+                () -> writeBehind.submit(1L, new CustomerRequest("Test", "Taken", "taken@example.com")));
+        assertNull(writeBehind.pending(1L));
+    }
+
+    @Test
+    void submit_EmailPendingForAnotherCustomer_IsRejected() {
+        writeBehind.submit(1L, new CustomerRequest("Test", "One", "shared@example.com"));
+
+        assertThrows(EmailAlreadyExistsException.class,
+                () -> writeBehind.submit(2L, new CustomerRequest("Test", "Two", "shared@example.com")));
+        assertNull(writeBehind.pending(2L));
+
+        writeBehind.submit(1L, new CustomerRequest("Test", "One", "other@example.com"));
+        assertDoesNotThrow(() -> writeBehind.submit(2L, new CustomerRequest("Test", "Two", "shared@example.com")));
+    }
+
+    @Test
+    void flush_SendsVersionSeenAtSubmit() {
+        writeBehind.submit(1L, new CustomerRequest("Test", "Pending", "pending@example.com"));
+        when(customerBatchService.processBatch(anyList())).thenReturn(new CustomerBatchResponse(1, 0,
+                List.of(new CustomerBatchResult(0, Status.UPDATED, 1L, null))));
+
+        writeBehind.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<CustomerBatchOperation>> operations = ArgumentCaptor.forClass(List.class);
+        verify(customerBatchService).processBatch(operations.capture());
+        assertEquals(3L, operations.getValue().get(0).getVersion());
+    }
+
+    @Test
+    void flush_UpdateCoalescedDuringFlush_IsRebasedOntoFlushedVersion() {
+        writeBehind.submit(1L, new CustomerRequest("Test", "First", "first@example.com"));
+        when(customerBatchService.processBatch(anyList())).thenAnswer(invocation -> {
+            writeBehind.submit(1L, new CustomerRequest("Test", "Second", "second@example.com"));
+            return new CustomerBatchResponse(1, 0, List.of(new CustomerBatchResult(0, Status.UPDATED, 1L, null)));
+        });
+
+        writeBehind.flush();
+
+        assertEquals(4L, writeBehind.pending(1L).getVersion());
+        assertEquals("Second", writeBehind.pending(1L).getCustomer().getLastName());
+    }
+
+    @Test
+    void flush_UnchangedUpdateFlushed_KeepsSuccessorVersion() {
+        writeBehind.submit(1L, new CustomerRequest("Test", "Stored", "customer1@example.com"));
+        when(customerBatchService.processBatch(anyList())).thenAnswer(invocation -> {
+            writeBehind.submit(1L, new CustomerRequest("Test", "Second", "customer1@example.com"));
+            return new CustomerBatchResponse(1, 0, List.of(new CustomerBatchResult(0, Status.UPDATED, 1L, null)));
+        });
+
+        writeBehind.flush();
+
+        assertEquals(3L, writeBehind.pending(1L).getVersion());
+    }
+
+    @Test
+    void flush_FailingBatch_AppliesUpdatesOneByOneAndDropsTheFailingOne() {
+        writeBehind.submit(1L, new CustomerRequest("Test", "Poison", "poison@example.com"));
+        writeBehind.submit(2L, new CustomerRequest("Test", "Fine", "fine@example.com"));
+        when(customerBatchService.processBatch(anyList())).thenAnswer(invocation -> {
+            List<CustomerBatchOperation> operations = invocation.getArgument(0);
+            if (operations.stream().anyMatch(operation -> operation.getId() == 1L)) {
+                throw new IllegalStateException("poison");
+            }
+            return new CustomerBatchResponse(1, 0, List.of(new CustomerBatchResult(0, Status.UPDATED, 2L, null)));
+        });
+
+        assertEquals(2, writeBehind.flush());
+
+        verify(customerBatchService, times(3)).processBatch(anyList());
+        assertNull(writeBehind.pending(1L));
+        assertNull(writeBehind.pending(2L));
+        assertDoesNotThrow(() -> writeBehind.submit(3L, new CustomerRequest("Test", "Three", "poison@example.com")));
+        writeBehind.discard(3L);
+    }
+
+    @Test
+    void submit_KeepingOwnEmail_SkipsUniquenessCheck() {
+        writeBehind.submit(1L, new CustomerRequest("Test", "Renamed", "customer1@example.com"));
+
+        verify(customerService, never()).emailExists(anyString());
+        assertEquals("Renamed", writeBehind.pending(1L).getCustomer().getLastName());
+    }
+
+    @Test
+    void submit_UnknownCustomer_IsRejectedBeforeQueueing() {
+        when(customerService.getCustomerById(9L)).thenThrow(new CustomerNotFoundException(9L));
+
+        assertThrows(CustomerNotFoundException.class,
+                () -> writeBehind.submit(9L, new CustomerRequest("Test", "Missing", "missing@example.com")));
+        assertNull(writeBehind.pending(9L));
+    }
+
+    @Test
+    void pending_AppliesToCurrentCustomer() {
+        LocalDateTime created = LocalDateTime.now();
+        writeBehind.submit(1L, new CustomerRequest("Test", "Pending", "pending@example.com"));
+
+        CustomerResponse view = writeBehind.pending(1L)
+                .applyTo(new CustomerResponse(1L, "Test", "Stored", "stored@example.com", created, created, 0L));
+
+        assertEquals("Pending", view.getLastName());
+        assertEquals("pending@example.com", view.getEmail());
+        assertEquals(created, view.getCreatedDtime());
+        assertNull(writeBehind.pending(2L));
+    }
+
+    @Test
+    void stop_FlushesPendingUpdates() {
+        writeBehind.submit(1L, new CustomerRequest("Test", "Pending", "pending@example.com"));
+        when(customerBatchService.processBatch(anyList())).thenReturn(new CustomerBatchResponse(1, 0,
+                List.of(new CustomerBatchResult(0, Status.UPDATED, 1L, null))));
+
+        writeBehind.stop();
+
+        verify(customerBatchService).processBatch(anyList());
+        assertNull(writeBehind.pending(1L));
+        assertThrows(WriteBehindQueueFullException.class,
+                () -> writeBehind.submit(1L, new CustomerRequest("Test", "Late", "late@example.com")));
+    }
+
+    private static CustomerResponse stored(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        return new CustomerResponse(id, "Test", "Stored", "customer" + id + "@example.com", now, now, 3L);
+    }
+}
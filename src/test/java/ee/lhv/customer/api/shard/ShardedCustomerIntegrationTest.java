@@ -0,0 +1,227 @@
+package ee.lhv.customer.api.shard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ee.lhv.customer.api.dto.CustomerLookupResponse;
+import ee.lhv.customer.api.dto.CustomerRequest;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.service.CustomerOperations;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "customer-api.shards.enabled=true",
+        "customer-api.shards.count=3",
+        "customer-api.shards.url=jdbc:h2:mem:shard-test-{shard};DB_CLOSE_DELAY=-1",
+        "customer-api.paging.stream-fetch-size=4"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardedCustomerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CustomerOperations customerService;
+
+    @Autowired
+    private ShardedCustomerRepository shardedCustomerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        for (int i = 0; i < shardedCustomerRepository.shardCount(); i++) {
+            JdbcTemplate shard = shardedCustomerRepository.shardForId(i).getJdbcTemplate();
+            shard.update("DELETE FROM customer_emails");
+            shard.update("DELETE FROM customers");
+        }
+        jdbcTemplate.update("DELETE FROM customer_changes");
+    }
+
+    @Test
+    void createCustomer_StoresRowOnEmailShard() {
+        CustomerResponse customer = customerService.createCustomer(
+                new CustomerRequest("Sharded", "Customer", "sharded@example.com"));
+
+        CustomerShard shard = shardedCustomerRepository.shardForEmail("sharded@example.com");
+        assertEquals(shard, shardedCustomerRepository.shardForId(customer.getId()));
+        assertEquals(1, shard.getJdbcTemplate().queryForObject("SELECT COUNT(*) FROM customers", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customers", Integer.class));
+        assertEquals("sharded@example.com", customerService.getCustomerById(customer.getId()).getEmail());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM customer_changes", Integer.class));
+    }
+
+    @Test
+    void getCustomers_MergesShardsInIdOrder() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        IntStream.range(0, 10).forEach(i -> ids.add(customerService.createCustomer(
+                new CustomerRequest("First" + i, "Last" + i, "customer" + i + "@example.com")).getId()));
+        Set<Integer> usedShards = new HashSet<>();
+        ids.forEach(id -> usedShards.add(shardedCustomerRepository.shardForId(id).getIndex()));
+        List<Long> sorted = ids.stream().sorted().toList();
+
+        List<Long> firstPage = customerService.getCustomers(null, 6).stream().map(CustomerResponse::getId).toList();
+        List<Long> secondPage = customerService.getCustomers(firstPage.get(5), 6).stream()
+                .map(CustomerResponse::getId).toList();
+        List<Long> streamed = new ArrayList<>();
+        customerService.streamAllCustomers(customer -> streamed.add(customer.getId()));
+
+        assertTrue(usedShards.size() > 1);
+        assertEquals(sorted.subList(0, 6), firstPage);
+        assertEquals(sorted.subList(6, 10), secondPage);
+        assertEquals(sorted, streamed);
+    }
+
+    @Test
+    void lookupCustomers_GathersFromShardsInInputOrder() {
+        List<Long> ids = new ArrayList<>();
+        IntStream.range(0, 6).forEach(i -> ids.add(customerService.createCustomer(
+                new CustomerRequest("First" + i, "Last" + i, "lookup" + i + "@example.com")).getId()));
+        List<Long> requested = new ArrayList<>(ids.reversed());
+        requested.add(2, -1L);
+
+        CustomerLookupResponse response = customerService.lookupCustomers(requested);
+
+        assertEquals(ids.reversed(), response.getCustomers().stream().map(CustomerResponse::getId).toList());
+        assertEquals(List.of(-1L), response.getMissing());
+    }
+
+    @Test
+    void emailUniqueness_HoldsAcrossShards() throws Exception {
+        CustomerResponse first = customerService.createCustomer(new CustomerRequest("A", "One", "a@example.com"));
+        CustomerResponse second = customerService.createCustomer(new CustomerRequest("B", "Two", "b.other@example.com"));
+
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("C", "Three", "a@example.com"))))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/customers/{id}", second.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("B", "Two", "a@example.com"))))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(put("/customers/{id}", first.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("A", "One", "a.new@example.com"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+        mockMvc.perform(put("/customers/{id}", second.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("B", "Two", "a@example.com"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("C", "Three", "a.new@example.com"))))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void deleteCustomer_ReleasesEmail() throws Exception {
+        CustomerResponse customer = customerService.createCustomer(new CustomerRequest("D", "Four", "d@example.com"));
+
+        customerService.deleteCustomer(customer.getId());
+
+        mockMvc.perform(get("/customers/{id}", customer.getId()))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("D", "Four", "d@example.com"))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void deleteCustomer_WithStaleVersion_IsRejected() throws Exception {
+        CustomerResponse customer = customerService.createCustomer(new CustomerRequest("E", "Five", "e@example.com"));
+
+        mockMvc.perform(delete("/customers/{id}", customer.getId()).header("If-Match", "\"5\""))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/customers/{id}", customer.getId() + shardedCustomerRepository.shardCount() * 1000L))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/customers/{id}", customer.getId()).header("If-Match", "\"0\""))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void releaseOrphanedEmailClaims_FreesEmailsNoRowHolds() throws Exception {
+        CustomerResponse customer = customerService.createCustomer(new CustomerRequest("F", "Six", "f@example.com"));
+        shardedCustomerRepository.shardForEmail("f.crashed@example.com").getJdbcTemplate().update(
+                "INSERT INTO customer_emails (email, customer_id) VALUES (?, ?)", "f.crashed@example.com", customer.getId());
+        shardedCustomerRepository.shardForEmail("gone@example.com").getJdbcTemplate().update(
+                "INSERT INTO customer_emails (email, customer_id) VALUES (?, ?)", "gone@example.com", 999_999L);
+
+        assertEquals(2, shardedCustomerRepository.releaseOrphanedEmailClaims());
+
+        mockMvc.perform(put("/customers/{id}", customer.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("F", "Six", "f.crashed@example.com"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("G", "Seven", "gone@example.com"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CustomerRequest("H", "Eight", "f.crashed@example.com"))))
+                .andExpect(status().isConflict());
+        assertEquals(0, shardedCustomerRepository.releaseOrphanedEmailClaims());
+    }
+
+    @Test
+    void searchCustomers_ScattersAcrossShards() throws Exception {
+        IntStream.range(0, 6).forEach(i -> customerService.createCustomer(
+                new CustomerRequest("Mari" + i, "Tamm", "mari" + i + "@example.com")));
+        customerService.createCustomer(new CustomerRequest("Jaan", "Kask", "jaan@example.com"));
+
+        String body = mockMvc.perform(get("/customers/search").param("q", "tamm").param("limit", "4").param("offset", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode customers = objectMapper.readTree(body);
+        List<Long> all = customerService.searchCustomers("tamm", 10, 0).stream().map(CustomerResponse::getId).toList();
+        assertEquals(6, all.size());
+        assertEquals(4, customers.size());
+        for (int i = 0; i < customers.size(); i++) {
+            assertEquals(all.get(i + 1), customers.get(i).get("id").asLong());
+        }
+    }
+
+    @Test
+    void customerJobs_AreRejectedWithShardedStorage() throws Exception {
+        mockMvc.perform(post("/customers/jobs/import").param("format", "csv")
+                        .contentType("text/csv")
+                        .content("firstName,lastName,email\nJob,Customer,job@example.com\n"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_JOB"));
+        mockMvc.perform(post("/customers/jobs/export").param("format", "ndjson"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("INVALID_JOB"));
+    }
+}
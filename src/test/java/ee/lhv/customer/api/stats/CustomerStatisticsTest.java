@@ -0,0 +1,93 @@
+package ee.lhv.customer.api.stats;
+
+import ee.lhv.customer.api.config.StatsProperties;
+import ee.lhv.customer.api.dto.CustomerResponse;
+import ee.lhv.customer.api.dto.CustomerStatsResponse;
+import ee.lhv.customer.api.event.CustomerChangedEvent;
+import ee.lhv.customer.api.repository.CustomerJdbcRepository;
+import ee.lhv.customer.api.shard.ShardedCustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerStatisticsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 14);
+
+    @Mock
+    private CustomerJdbcRepository customerJdbcRepository;
+
+    @Mock
+    private ObjectProvider<ShardedCustomerRepository> shardedCustomerRepository;
+
+    private CustomerStatistics customerStatistics;
+
+    @BeforeEach
+    void setUp() {
+        customerStatistics = new CustomerStatistics(new StatsProperties(), customerJdbcRepository,
+                shardedCustomerRepository);
+    }
+
+    @Test
+    void onCustomerChanged_CountsCreatesDomainChangesAndDeletes() {
+        CustomerResponse ada = customer(1L, "ada@Example.com", DAY);
+        CustomerResponse grace = customer(2L, "grace@navy.mil", DAY.plusDays(1));
+        customerStatistics.onCustomerChanged(CustomerChangedEvent.created(ada));
+        customerStatistics.onCustomerChanged(CustomerChangedEvent.created(grace));
+        customerStatistics.onCustomerChanged(CustomerChangedEvent.updated(
+                customer(2L, "grace@example.com", DAY.plusDays(1)), grace));
+        customerStatistics.onCustomerChanged(CustomerChangedEvent.deleted(ada));
+
+        CustomerStatsResponse stats = customerStatistics.getStats(DAY, DAY.plusDays(1), null);
+
+        assertEquals(1, stats.getTotal());
+        assertEquals(Map.of(DAY.plusDays(1), 1L), stats.getSignUpsPerDay());
+        assertEquals(Map.of("example.com", 1L), stats.getCustomersPerDomain());
+    }
+
+    @Test
+    void reconcile_CorrectsCountersFromGroupByQueries() {
+        customerStatistics.onCustomerChanged(CustomerChangedEvent.created(customer(1L, "ada@example.com", DAY)));
+        when(customerJdbcRepository.countByCreatedDate()).thenReturn(Map.of(DAY, 3L, DAY.minusDays(1), 2L));
+        when(customerJdbcRepository.countByEmailDomain()).thenReturn(Map.of("example.com", 4L, "navy.mil", 1L));
+
+        customerStatistics.reconcile();
+        CustomerStatsResponse stats = customerStatistics.getStats(DAY.minusDays(1), DAY, 1);
+
+        assertEquals(5, stats.getTotal());
+        assertEquals(List.of(DAY.minusDays(1), DAY), List.copyOf(stats.getSignUpsPerDay().keySet()));
+        assertEquals(Map.of(DAY.minusDays(1), 2L, DAY, 3L), stats.getSignUpsPerDay());
+        assertEquals(Map.of("example.com", 4L), stats.getCustomersPerDomain());
+        assertNotNull(stats.getReconciledDtime());
+    }
+
+    @Test
+    void getStats_ClampsRangeToMaxDays() {
+        customerStatistics.onCustomerChanged(CustomerChangedEvent.created(customer(1L, "ada@example.com", DAY)));
+        customerStatistics.onCustomerChanged(CustomerChangedEvent.created(
+                customer(2L, "grace@example.com", DAY.minusYears(2))));
+
+        CustomerStatsResponse stats = customerStatistics.getStats(DAY.minusYears(3), DAY, null);
+
+        assertEquals(2, stats.getTotal());
+        assertEquals(Map.of(DAY, 1L), stats.getSignUpsPerDay());
+    }
+
+    private static CustomerResponse customer(Long id, String email, LocalDate created) {
+        LocalDateTime createdDtime = created.atTime(12, 0);
+        return new CustomerResponse(id, "First", "Last", email, createdDtime, createdDtime, 0L);
+    }
+}